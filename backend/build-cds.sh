@@ -0,0 +1,37 @@
+#!/bin/bash
+
+# Builds the startup-optimised distribution: Spring AOT + an AppCDS archive.
+# Output goes to target/cds/; run it with target/cds/run.sh
+
+set -e
+
+echo "📦 Building with Spring AOT (startup profile)..."
+mvn clean package -Pstartup -DskipTests
+
+CDS_DIR=target/cds
+rm -rf "$CDS_DIR"
+mkdir -p "$CDS_DIR"
+
+# CDS needs plain jars on the classpath, so unpack the executable jar
+echo "📂 Unpacking application jar..."
+(cd "$CDS_DIR" && jar -xf ../insurance-portal-1.0.0.jar)
+
+# Training run: start the context, exit right after refresh and dump the loaded classes.
+# It uses a scratch SQLite file so the real database is not touched.
+echo "🏋️  Training run to create the CDS archive..."
+(cd "$CDS_DIR" && DATABASE_URL="jdbc:sqlite:./cds-training.db" java \
+    -XX:ArchiveClassesAtExit=application.jsa \
+    -Dspring.context.exit=onRefresh \
+    -Dspring.aot.enabled=true \
+    org.springframework.boot.loader.launch.JarLauncher)
+rm -f "$CDS_DIR/cds-training.db"
+
+cat > "$CDS_DIR/run.sh" <<'RUN'
+#!/bin/bash
+cd "$(dirname "$0")"
+exec java -XX:SharedArchiveFile=application.jsa -Dspring.aot.enabled=true \
+    org.springframework.boot.loader.launch.JarLauncher "$@"
+RUN
+chmod +x "$CDS_DIR/run.sh"
+
+echo "✅ Done. Start with: $CDS_DIR/run.sh"
@@ -1,3 +1,6 @@
+-- Reference schema. The application applies the versioned migrations in
+-- src/main/resources/db/migration/{sqlite,postgresql} at startup; change those, not this file.
+
 -- Users Table
 CREATE TABLE IF NOT EXISTS users (
   id INTEGER PRIMARY KEY AUTOINCREMENT,
@@ -64,6 +67,27 @@ CREATE TABLE IF NOT EXISTS audit_logs (
   FOREIGN KEY (user_id) REFERENCES users(id)
 );
 
+-- Batch Job Checkpoints (resume point for scheduled jobs)
+CREATE TABLE IF NOT EXISTS job_checkpoints (
+  job_name VARCHAR(100) PRIMARY KEY,
+  run_key VARCHAR(50),
+  last_record_id BIGINT,
+  status VARCHAR(20),
+  processed_count BIGINT,
+  failed_count BIGINT,
+  updated_at TIMESTAMP
+);
+
+-- Revoked JWTs (logout); rows can be purged once expires_at has passed
+CREATE TABLE IF NOT EXISTS revoked_tokens (
+  token_hash VARCHAR(64) PRIMARY KEY,
+  user_id BIGINT,
+  expires_at TIMESTAMP,
+  revoked_at TIMESTAMP
+);
+-- The Bloom filter rebuild (expires_at > now) and the expired-token purge (expires_at <= now) both select on expiry
+CREATE INDEX IF NOT EXISTS idx_revoked_tokens_expires ON revoked_tokens(expires_at);
+
 -- Indexes for better performance
 CREATE INDEX IF NOT EXISTS idx_insurance_uuid ON insurance_records(uuid);
 CREATE INDEX IF NOT EXISTS idx_insurance_customer_name ON insurance_records(customer_name);
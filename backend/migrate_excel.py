@@ -79,6 +79,17 @@ def clean_phone(phone):
     phone_str = re.sub(r'[^\d+]', '', phone_str)
     return phone_str if phone_str else None
 
+def normalize_phone(phone):
+    """10-digit mobile without +91 / 0 prefix (same rule as RecordKeys.phone), used by the customer view"""
+    if phone is None:
+        return None
+    digits = re.sub(r'\D', '', phone)
+    if len(digits) == 12 and digits.startswith('91'):
+        digits = digits[2:]
+    elif len(digits) == 11 and digits.startswith('0'):
+        digits = digits[1:]
+    return digits if len(digits) == 10 else None
+
 def clean_text(text):
     """Clean text fields"""
     if pd.isna(text) or text == '' or text is None:
@@ -152,13 +163,13 @@ def import_excel_data(conn, excel_file):
             # Insert into database
             cursor.execute('''
                 INSERT INTO insurance_records (
-                    uuid, customer_name, phone_number, vehicle_number, company,
+                    uuid, customer_name, phone_number, normalized_phone, vehicle_number, company,
                     policy_start_date, expiry_date, total_premium, total_commission,
                     customer_discounted_premium, admin_details_added,
                     created_at, updated_at
-                ) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, datetime('now'), datetime('now'))
+                ) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, datetime('now'), datetime('now'))
             ''', (
-                record_uuid, customer_name, phone_number, vehicle_number, company,
+                record_uuid, customer_name, phone_number, normalize_phone(phone_number), vehicle_number, company,
                 policy_start_date, expiry_date, total_premium, total_commission,
                 customer_discounted_premium, admin_details_added
             ))
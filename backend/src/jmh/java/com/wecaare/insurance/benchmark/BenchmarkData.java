@@ -0,0 +1,119 @@
+package com.wecaare.insurance.benchmark;
+
+import com.wecaare.insurance.model.InsuranceRecord;
+import com.wecaare.insurance.repository.InsuranceRecordRepository;
+import com.wecaare.insurance.service.InsuranceRecordService;
+import com.wecaare.insurance.service.SingleFlight;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+// Deterministic in-memory dataset shared by the benchmarks, shaped like production rows
+final class BenchmarkData {
+    
+    private static final String[] COMPANIES = {
+        "ICICI Lombard", "HDFC ERGO", "Bajaj Allianz", "TATA AIG", "New India Assurance", "United India", "Digit"
+    };
+    private static final String[] FIRST_NAMES = {
+        "Anil", "Sunita", "Rahul", "Priya", "Vijay", "Lakshmi", "Arjun", "Meera", "Suresh", "Kavya"
+    };
+    private static final String[] LAST_NAMES = {
+        "Kumar", "Nair", "Sharma", "Reddy", "Patel", "Menon", "Singh", "Iyer", "Das", "Pillai"
+    };
+    private static final String[] STATES = { "KL", "TN", "KA", "MH", "DL", "AP" };
+    
+    private static final PlatformTransactionManager NO_TRANSACTIONS = new PlatformTransactionManager() {
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            return new SimpleTransactionStatus();
+        }
+        
+        @Override
+        public void commit(TransactionStatus status) {
+        }
+        
+        @Override
+        public void rollback(TransactionStatus status) {
+        }
+    };
+    
+    private BenchmarkData() {
+    }
+    
+    // expiringWithinDays > 0 puts every expiry date in [today, today + expiringWithinDays]
+    static List<InsuranceRecord> records(int count, int expiringWithinDays) {
+        Random random = new Random(42);
+        LocalDate today = LocalDate.now();
+        LocalDateTime now = LocalDateTime.now();
+        List<InsuranceRecord> records = new ArrayList<>(count);
+        
+        for (int i = 0; i < count; i++) {
+            InsuranceRecord record = new InsuranceRecord();
+            record.setId((long) i + 1);
+            record.setUuid(new UUID(random.nextLong(), random.nextLong()).toString());
+            record.setCustomerName(FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " "
+                + LAST_NAMES[random.nextInt(LAST_NAMES.length)]);
+            record.setPhoneNumber(String.valueOf(6_000_000_000L + (long) (random.nextDouble() * 3_999_999_999L)));
+            record.setVehicleNumber(String.format("%s%02d%c%c%04d", STATES[random.nextInt(STATES.length)],
+                1 + random.nextInt(99), (char) ('A' + random.nextInt(26)), (char) ('A' + random.nextInt(26)),
+                random.nextInt(10_000)));
+            record.setCompany(COMPANIES[random.nextInt(COMPANIES.length)]);
+            
+            LocalDate expiry = expiringWithinDays > 0
+                ? today.plusDays(random.nextInt(expiringWithinDays + 1))
+                : today.plusDays(random.nextInt(730) - 365);
+            record.setExpiryDate(expiry);
+            record.setPolicyStartDate(expiry.minusYears(1).plusDays(1));
+            
+            if (random.nextInt(10) < 7) {
+                double premium = 2_000 + random.nextInt(48_000);
+                record.setTotalPremium(premium);
+                record.setTotalCommission(Math.round(premium * 0.15 * 100) / 100.0);
+                record.setCustomerDiscountedPremium(premium - random.nextInt(1_000));
+                record.setAdminDetailsAdded(true);
+            }
+            record.setRenewalNotified(random.nextInt(4) == 0);
+            if (record.getRenewalNotified()) {
+                record.setNotifiedAt(now.minusDays(random.nextInt(30)));
+            }
+            record.setCreatedBy(1L);
+            record.setUpdatedBy(1L);
+            record.setCreatedAt(now.minusDays(random.nextInt(730)));
+            record.setUpdatedAt(now.minusDays(random.nextInt(30)));
+            records.add(record);
+        }
+        return records;
+    }
+    
+    // InsuranceRecordService over a repository that serves the given rows from memory
+    static InsuranceRecordService recordService(List<InsuranceRecord> records) {
+        InsuranceRecordRepository repository = (InsuranceRecordRepository) Proxy.newProxyInstance(
+            InsuranceRecordRepository.class.getClassLoader(),
+            new Class<?>[] { InsuranceRecordRepository.class },
+            (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "findByDeletedAtIsNullOrderByUpdatedAtDesc":
+                    case "findExpiringPolicies":
+                        return records;
+                    case "countByDeletedAtIsNull":
+                        return (long) records.size();
+                    case "toString":
+                        return "InMemoryInsuranceRecordRepository";
+                    default:
+                        throw new UnsupportedOperationException(method.getName());
+                }
+            });
+        // Read paths never touch the audit trail; there is no real transaction to open
+        return new InsuranceRecordService(repository, null, new SingleFlight(NO_TRANSACTIONS, new SimpleMeterRegistry()));
+    }
+}
@@ -0,0 +1,34 @@
+package com.wecaare.insurance.benchmark;
+
+import com.wecaare.insurance.service.ExportService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+// One export is seconds of work at the larger sizes, so each iteration is a single timed call
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = { "-Xms2g", "-Xmx4g" })
+public class ExportBenchmark {
+    
+    @Param({ "5000", "50000", "500000" })
+    private int rows;
+    
+    private ExportService exportService;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        exportService = new ExportService(
+            BenchmarkData.recordService(BenchmarkData.records(rows, 0)), new SimpleMeterRegistry());
+    }
+    
+    @Benchmark
+    public byte[] exportToExcel() throws IOException {
+        return exportService.exportToExcel();
+    }
+}
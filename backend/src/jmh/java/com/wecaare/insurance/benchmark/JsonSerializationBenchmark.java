@@ -0,0 +1,44 @@
+package com.wecaare.insurance.benchmark;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.wecaare.insurance.model.InsuranceRecord;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonSerializationBenchmark {
+    
+    @Param({ "5000", "50000" })
+    private int rows;
+    
+    private ObjectMapper objectMapper;
+    private List<InsuranceRecord> records;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Same settings as spring.jackson.* in application.properties
+        objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .setSerializationInclusion(JsonInclude.Include.NON_NULL)
+            .setTimeZone(TimeZone.getTimeZone("UTC"));
+        records = BenchmarkData.records(rows, 0);
+    }
+    
+    @Benchmark
+    public byte[] serializeRecordList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(records);
+    }
+}
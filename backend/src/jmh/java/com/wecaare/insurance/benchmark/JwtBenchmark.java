@@ -0,0 +1,57 @@
+package com.wecaare.insurance.benchmark;
+
+import com.wecaare.insurance.security.JwtTokenProvider;
+import com.wecaare.insurance.security.UserDetailsImpl;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+    
+    private JwtTokenProvider tokenProvider;
+    private String token;
+    private String tamperedToken;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        tokenProvider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(tokenProvider, "jwtSecret", "benchmark-secret-key-that-is-at-least-256-bits-long");
+        ReflectionTestUtils.setField(tokenProvider, "jwtExpirationMs", 86_400_000L);
+        tokenProvider.init();
+        
+        UserDetailsImpl principal = new UserDetailsImpl(1L, "admin", null, "admin", null, null);
+        token = tokenProvider.generateToken(
+            new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+        tamperedToken = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+    }
+    
+    @Benchmark
+    public boolean validateToken() {
+        return tokenProvider.validateToken(token);
+    }
+    
+    @Benchmark
+    public UserDetailsImpl parseClaimsAndBuildPrincipal() {
+        Claims claims = tokenProvider.parseClaims(token);
+        return tokenProvider.getUserDetails(claims);
+    }
+    
+    @Benchmark
+    public boolean rejectTamperedToken() {
+        return tokenProvider.validateToken(tamperedToken);
+    }
+    
+    @Benchmark
+    public String hashToken() {
+        return JwtTokenProvider.hashToken(token);
+    }
+}
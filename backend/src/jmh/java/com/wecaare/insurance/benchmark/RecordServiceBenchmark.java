@@ -0,0 +1,40 @@
+package com.wecaare.insurance.benchmark;
+
+import com.wecaare.insurance.service.InsuranceRecordService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Pure in-memory cost of the service methods; the repository returns pre-built rows
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RecordServiceBenchmark {
+    
+    @Param({ "5000", "50000" })
+    private int rows;
+    
+    private InsuranceRecordService expiringService;
+    private InsuranceRecordService allRecordsService;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        expiringService = BenchmarkData.recordService(BenchmarkData.records(rows, 30));
+        allRecordsService = BenchmarkData.recordService(BenchmarkData.records(rows, 0));
+    }
+    
+    @Benchmark
+    public List<Map<String, Object>> expiringPoliciesRowMapping() {
+        return expiringService.getExpiringPolicies(30);
+    }
+    
+    @Benchmark
+    public Map<String, Object> financialSummary() {
+        return allRecordsService.getFinancialSummary();
+    }
+}
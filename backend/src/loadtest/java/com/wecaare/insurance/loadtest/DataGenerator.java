@@ -0,0 +1,268 @@
+package com.wecaare.insurance.loadtest;
+
+import com.wecaare.insurance.service.RecordKeys;
+import org.flywaydb.core.Flyway;
+
+import java.sql.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+
+// Fills insurance_records with synthetic rows shaped like the production data:
+// Kerala-heavy registration numbers, 10-digit mobiles with ~11% missing, the real insurer mix,
+// one-year policies spread over the last three years, and a configurable soft-deleted share.
+//
+//   mvn -Ploadtest test-compile exec:java -Dloadtest.main=com.wecaare.insurance.loadtest.DataGenerator \
+//       -Dexec.args="--url=jdbc:sqlite:./database/loadtest.db --rows=500000"
+//
+// Options: --url, --user, --password, --rows (default 50000), --seed (42), --deleted-share (0.02),
+//          --batch (5000), --truncate (delete existing records first)
+public class DataGenerator {
+    
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    
+    private static final String INSERT_SQL =
+        "INSERT INTO insurance_records (uuid, customer_name, phone_number, normalized_phone, vehicle_number, company, " +
+        "policy_start_date, expiry_date, total_premium, total_commission, customer_discounted_premium, " +
+        "admin_details_added, renewal_notified, notified_at, created_by, updated_by, created_at, updated_at, deleted_at) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    
+    // Insurer share of the current dataset
+    private static final String[] COMPANIES = {
+        "NATIONAL", "FUTURE", "DIGIT", "LIBERTY", "SHRIRAM", "UNITED", "SBI", "UNITED INDIA",
+        "MAGMA HDI", "ROYAL SUNDARAM", "ICICI", "IFFCO", "HDFC", "BAJAJ ALLIANZ", "NEW INDIA"
+    };
+    private static final int[] COMPANY_WEIGHTS = {
+        2418, 964, 343, 214, 203, 188, 181, 135, 67, 51, 51, 41, 28, 37, 14
+    };
+    
+    private static final String[] FIRST_NAMES = {
+        "ANIL", "SUNIL", "RAJESH", "SREEJITH", "AKSHAY", "HARIS", "LAILA", "SUHAIL", "SULFI", "LATHEEF",
+        "PRIYA", "DEEPA", "ARUN", "VINOD", "JOSEPH", "MARY", "ABDUL", "FATHIMA", "MANOJ", "BINDU",
+        "RAHUL", "ANJALI", "SHAJI", "BIJU", "REKHA", "SAJAN", "NISHA", "GOPAN", "AJITH", "SUNDARAN"
+    };
+    private static final String[] SURNAMES = {
+        "", "", "", "R", "V ANIL", "M A", "A", "K", "P", "VARGHESE", "RASHEED", "NAIR", "MENON", "PILLAI",
+        "THOMAS", "KURIAN", "JOHN", "KUMAR", "MOHAMMED", "S", "B", "GEORGE", "CHACKO", "PANICKER"
+    };
+    
+    // Kerala RTO codes dominate; a few other states for variety
+    private static final String[] STATES = { "KL", "KL", "KL", "KL", "KL", "KL", "KL", "KL", "TN", "KA" };
+    private static final String[] SERIES_LETTERS = { "A", "B", "C", "D", "E", "F", "G", "H", "J", "K", "L", "M",
+        "N", "P", "Q", "R", "S", "T", "U", "V", "W", "X", "Y", "Z" };
+    
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        String url = options.getOrDefault("url", "jdbc:sqlite:./database/loadtest.db");
+        String user = options.getOrDefault("user", "");
+        String password = options.getOrDefault("password", "");
+        long rows = Long.parseLong(options.getOrDefault("rows", "50000"));
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        double deletedShare = Double.parseDouble(options.getOrDefault("deleted-share", "0.02"));
+        int batchSize = Integer.parseInt(options.getOrDefault("batch", "5000"));
+        boolean sqlite = url.startsWith("jdbc:sqlite:");
+        
+        // Same migrations as the application, so the generated database boots without changes
+        Flyway.configure()
+            .dataSource(url, user, password)
+            .locations(sqlite ? "classpath:db/migration/sqlite" : "classpath:db/migration/postgresql")
+            .baselineOnMigrate(true)
+            .baselineVersion("1")
+            .load()
+            .migrate();
+        
+        try (Connection connection = DriverManager.getConnection(url, user, password)) {
+            if (sqlite) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("PRAGMA journal_mode=WAL");
+                    statement.execute("PRAGMA synchronous=OFF");
+                }
+            }
+            long userId = seedUserId(connection);
+            if (options.containsKey("truncate")) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.executeUpdate("DELETE FROM insurance_records");
+                }
+            }
+            
+            connection.setAutoCommit(false);
+            long startedAt = System.currentTimeMillis();
+            generate(connection, sqlite, rows, new Random(seed), deletedShare, batchSize, userId, startedAt);
+            
+            if (sqlite) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("ANALYZE");
+                }
+            } else {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("ANALYZE insurance_records");
+                }
+            }
+            connection.commit();
+            System.out.printf("Generated %,d records in %.1f s%n", rows, (System.currentTimeMillis() - startedAt) / 1000.0);
+        }
+    }
+    
+    private static void generate(Connection connection, boolean sqlite, long rows, Random random,
+                                 double deletedShare, int batchSize, long userId, long startedAt) throws SQLException {
+        LocalDate today = LocalDate.now();
+        LocalDateTime now = LocalDateTime.now();
+        int totalWeight = Arrays.stream(COMPANY_WEIGHTS).sum();
+        
+        try (PreparedStatement insert = connection.prepareStatement(INSERT_SQL)) {
+            for (long i = 1; i <= rows; i++) {
+                // Policy starts spread over the last three years, slightly weighted to recent business
+                int daysAgo = (int) (Math.pow(random.nextDouble(), 1.3) * 3 * 365);
+                LocalDate start = today.minusDays(daysAgo);
+                int term = random.nextInt(100) < 97 ? 364 : 729;
+                LocalDate expiry = start.plusDays(term);
+                
+                // Premiums are log-normal around ~3,000 with a long tail of commercial vehicles
+                double premium = Math.round(Math.exp(8.0 + random.nextGaussian() * 0.9));
+                boolean hasFinancials = random.nextInt(100) < 85;
+                double discounted = random.nextInt(100) < 60 ? premium : Math.round(premium * (0.7 + random.nextDouble() * 0.3));
+                
+                LocalDateTime createdAt = start.atStartOfDay().plusSeconds(random.nextInt(86_400));
+                if (createdAt.isAfter(now)) {
+                    createdAt = now;
+                }
+                boolean notified = expiry.isBefore(today.plusDays(30)) && random.nextInt(100) < 40;
+                boolean deleted = random.nextDouble() < deletedShare;
+                
+                int p = 1;
+                insert.setString(p++, new UUID(random.nextLong(), random.nextLong()).toString());
+                insert.setString(p++, customerName(random));
+                String phone = phoneNumber(random);
+                insert.setString(p++, phone);
+                insert.setString(p++, RecordKeys.phone(phone));
+                insert.setString(p++, vehicleNumber(random));
+                insert.setString(p++, company(random, totalWeight));
+                setDate(insert, p++, start, sqlite);
+                setDate(insert, p++, expiry, sqlite);
+                insert.setObject(p++, hasFinancials ? premium : null);
+                insert.setObject(p++, hasFinancials ? 0.0 : null);
+                insert.setObject(p++, hasFinancials ? discounted : null);
+                insert.setBoolean(p++, hasFinancials);
+                insert.setBoolean(p++, notified);
+                setTimestamp(insert, p++, notified ? expiry.minusDays(random.nextInt(30) + 1).atTime(10, 0) : null, sqlite);
+                insert.setLong(p++, userId);
+                insert.setLong(p++, userId);
+                setTimestamp(insert, p++, createdAt, sqlite);
+                setTimestamp(insert, p++, createdAt, sqlite);
+                // Deletions are written the way Hibernate writes them (a bound timestamp)
+                insert.setTimestamp(p, deleted ? Timestamp.valueOf(createdAt.plusDays(random.nextInt(200))) : null);
+                insert.addBatch();
+                
+                if (i % batchSize == 0 || i == rows) {
+                    insert.executeBatch();
+                    connection.commit();
+                    if (i % (batchSize * 20L) == 0 || i == rows) {
+                        System.out.printf("  %,d / %,d rows (%.0f rows/s)%n", i, rows,
+                            i * 1000.0 / Math.max(1, System.currentTimeMillis() - startedAt));
+                    }
+                }
+            }
+        }
+    }
+    
+    // SQLite stores dates as text the way createRecord writes them; PostgreSQL needs typed values
+    private static void setDate(PreparedStatement statement, int index, LocalDate date, boolean sqlite) throws SQLException {
+        if (sqlite) {
+            statement.setString(index, date.toString());
+        } else {
+            statement.setObject(index, date);
+        }
+    }
+    
+    private static void setTimestamp(PreparedStatement statement, int index, LocalDateTime value, boolean sqlite)
+            throws SQLException {
+        if (value == null) {
+            statement.setNull(index, Types.TIMESTAMP);
+        } else if (sqlite) {
+            statement.setString(index, value.format(TIMESTAMP));
+        } else {
+            statement.setObject(index, value);
+        }
+    }
+    
+    private static String customerName(Random random) {
+        String surname = SURNAMES[random.nextInt(SURNAMES.length)];
+        String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+        return surname.isEmpty() ? first : first + " " + surname;
+    }
+    
+    // ~11% missing, otherwise a 10-digit mobile starting 6-9, a few with a 0 or 91 prefix
+    private static String phoneNumber(Random random) {
+        int roll = random.nextInt(100);
+        if (roll < 11) {
+            return null;
+        }
+        String mobile = (6 + random.nextInt(4)) + String.format("%09d", random.nextInt(1_000_000_000));
+        if (roll < 12) {
+            return "0" + mobile;
+        }
+        if (roll < 13) {
+            return "91" + mobile;
+        }
+        return mobile;
+    }
+    
+    // e.g. KL-04-AB-1786, KL-29-H-1027; occasionally lower-case series as typed by staff
+    private static String vehicleNumber(Random random) {
+        String series = SERIES_LETTERS[random.nextInt(SERIES_LETTERS.length)];
+        if (random.nextInt(100) < 60) {
+            series += SERIES_LETTERS[random.nextInt(SERIES_LETTERS.length)];
+        }
+        if (random.nextInt(100) < 2) {
+            series = series.toLowerCase();
+        }
+        return String.format("%s-%02d-%s-%04d", STATES[random.nextInt(STATES.length)],
+            1 + random.nextInt(99), series, random.nextInt(10_000));
+    }
+    
+    private static String company(Random random, int totalWeight) {
+        int pick = random.nextInt(totalWeight);
+        for (int i = 0; i < COMPANIES.length; i++) {
+            pick -= COMPANY_WEIGHTS[i];
+            if (pick < 0) {
+                return COMPANIES[i];
+            }
+        }
+        return COMPANIES[0];
+    }
+    
+    // created_by/updated_by reference users(id); a fresh database has no users until the app first boots
+    private static long seedUserId(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT min(id) FROM users")) {
+            if (rs.next()) {
+                long id = rs.getLong(1);
+                if (!rs.wasNull()) {
+                    return id;
+                }
+            }
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate(
+                "INSERT INTO users (username, password_hash, role, is_active) VALUES ('loadtest-seed', '!', 'staff', false)");
+        }
+        return seedUserId(connection);
+    }
+    
+    static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                continue;
+            }
+            int eq = arg.indexOf('=');
+            if (eq < 0) {
+                options.put(arg.substring(2), "true");
+            } else {
+                options.put(arg.substring(2, eq), arg.substring(eq + 1));
+            }
+        }
+        return options;
+    }
+}
@@ -0,0 +1,254 @@
+package com.wecaare.insurance.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Year;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// End-to-end load test against a running instance: logs in once, then each worker thread replays a
+// weighted mix of the calls the frontend makes in a closed loop and records client-side latencies.
+//
+//   mvn -Ploadtest test-compile exec:java -Dexec.args="--threads=16 --duration=60"
+//
+// Options: --base-url (http://localhost:5001/api), --username, --password, --threads (8),
+//          --duration seconds (60), --warmup seconds (10), --seed (42),
+//          --mix, e.g. list=30,search=30,expiring=20,notify=10,analytics=8,export=2
+public class LoadHarness {
+
+    private static final String DEFAULT_MIX = "list=30,search=30,expiring=20,notify=10,analytics=8,export=2";
+
+    // Search terms that hit the generated data: insurer names, plate prefixes, common names and phone prefixes
+    private static final String[] SEARCH_TERMS = {
+        "NATIONAL", "DIGIT", "LIBERTY", "KL-04", "KL-29", "KL-07", "SUNIL", "PRIYA", "JOSEPH", "NAIR", "9847", "7034"
+    };
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient client;
+    private final String baseUrl;
+    private String token;
+    private List<Long> recordIds = List.of();
+
+    private LoadHarness(String baseUrl, int threads) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .executor(Executors.newFixedThreadPool(Math.max(2, threads / 2)))
+            .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = DataGenerator.parseOptions(args);
+        int threads = Integer.parseInt(options.getOrDefault("threads", "8"));
+        int duration = Integer.parseInt(options.getOrDefault("duration", "60"));
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", "10"));
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        Map<String, Integer> mix = parseMix(options.getOrDefault("mix", DEFAULT_MIX));
+
+        LoadHarness harness = new LoadHarness(options.getOrDefault("base-url", "http://localhost:5001/api"), threads);
+        harness.login(options.getOrDefault("username", "smitha"), options.getOrDefault("password", "smithamg33"));
+        harness.loadRecordIds();
+        System.out.printf("Logged in, %,d records visible; mix %s; %d threads%n", harness.recordIds.size(), mix, threads);
+
+        if (warmup > 0) {
+            System.out.printf("Warming up for %d s...%n", warmup);
+            harness.run(mix, threads, warmup, seed - 1);
+        }
+        System.out.printf("Measuring for %d s...%n", duration);
+        long startedAt = System.nanoTime();
+        Map<String, Stats> results = harness.run(mix, threads, duration, seed);
+        double elapsed = (System.nanoTime() - startedAt) / 1e9;
+        report(results, elapsed);
+        System.exit(0);
+    }
+
+    private Map<String, Stats> run(Map<String, Integer> mix, int threads, int seconds, long seed) throws InterruptedException {
+        Map<String, Stats> results = new ConcurrentHashMap<>();
+        mix.keySet().forEach(operation -> results.put(operation, new Stats()));
+        int totalWeight = mix.values().stream().mapToInt(Integer::intValue).sum();
+        List<String> operations = new ArrayList<>(mix.keySet());
+
+        AtomicBoolean stop = new AtomicBoolean(false);
+        ExecutorService workers = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            Random random = new Random(seed * 31 + t);
+            workers.execute(() -> {
+                while (!stop.get()) {
+                    String operation = pick(operations, mix, totalWeight, random);
+                    long start = System.nanoTime();
+                    boolean ok;
+                    try {
+                        ok = execute(operation, random);
+                    } catch (Exception e) {
+                        ok = false;
+                    }
+                    results.get(operation).record(System.nanoTime() - start, ok);
+                }
+            });
+        }
+        Thread.sleep(seconds * 1000L);
+        stop.set(true);
+        workers.shutdown();
+        workers.awaitTermination(60, TimeUnit.SECONDS);
+        return results;
+    }
+
+    private boolean execute(String operation, Random random) throws Exception {
+        switch (operation) {
+            case "list":
+                return get("/insurance-records") == 200;
+            case "search":
+                String term = SEARCH_TERMS[random.nextInt(SEARCH_TERMS.length)];
+                return get("/insurance-records?search=" + URLEncoder.encode(term, StandardCharsets.UTF_8)) == 200;
+            case "expiring":
+                return get("/insurance-records/expiring?days=" + (random.nextBoolean() ? 30 : 7)) == 200;
+            case "notify":
+                // A notify and the matching unnotify, so repeated runs leave the data as they found it
+                if (recordIds.isEmpty()) {
+                    return false;
+                }
+                long id = recordIds.get(random.nextInt(recordIds.size()));
+                return put("/insurance-records/" + id + "/notify", "{\"notes\":\"load test\"}") == 200
+                    && put("/insurance-records/" + id + "/unnotify", "{}") == 200;
+            case "analytics":
+                return random.nextBoolean()
+                    ? get("/analytics/monthly-performance?year=" + (Year.now().getValue() - random.nextInt(3))) == 200
+                    : get("/analytics/policies-count") == 200;
+            case "export":
+                return get("/export/excel") == 200;
+            default:
+                throw new IllegalArgumentException("Unknown operation: " + operation);
+        }
+    }
+
+    private void login(String username, String password) throws Exception {
+        String body = objectMapper.writeValueAsString(Map.of("username", username, "password", password));
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build(),
+            HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login failed with HTTP " + response.statusCode() + ": " + response.body());
+        }
+        token = objectMapper.readTree(response.body()).path("token").asText();
+    }
+
+    private void loadRecordIds() throws Exception {
+        HttpResponse<String> response = client.send(request("/insurance-records").GET().build(),
+            HttpResponse.BodyHandlers.ofString());
+        List<Long> ids = new ArrayList<>();
+        for (JsonNode record : objectMapper.readTree(response.body()).path("records")) {
+            ids.add(record.path("id").asLong());
+        }
+        recordIds = ids;
+    }
+
+    // Bodies are drained but not kept, so the harness measures the server rather than its own heap
+    private int get(String path) throws Exception {
+        return client.send(request(path).GET().build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private int put(String path, String json) throws Exception {
+        return client.send(request(path)
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString(json))
+                .build(),
+            HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+            .timeout(Duration.ofSeconds(60))
+            .header("Authorization", "Bearer " + token);
+    }
+
+    private static String pick(List<String> operations, Map<String, Integer> mix, int totalWeight, Random random) {
+        int roll = random.nextInt(totalWeight);
+        for (String operation : operations) {
+            roll -= mix.get(operation);
+            if (roll < 0) {
+                return operation;
+            }
+        }
+        return operations.get(0);
+    }
+
+    private static Map<String, Integer> parseMix(String spec) {
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        for (String part : spec.split(",")) {
+            String[] pair = part.trim().split("=");
+            int weight = Integer.parseInt(pair[1].trim());
+            if (weight > 0) {
+                mix.put(pair[0].trim(), weight);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("Empty operation mix: " + spec);
+        }
+        return mix;
+    }
+
+    private static void report(Map<String, Stats> results, double elapsedSeconds) {
+        System.out.printf("%n%-10s %8s %7s %9s %9s %9s %9s %9s%n",
+            "operation", "count", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms");
+        long totalCount = 0;
+        long totalErrors = 0;
+        List<Long> all = new ArrayList<>();
+        for (Map.Entry<String, Stats> entry : results.entrySet()) {
+            Stats stats = entry.getValue();
+            List<Long> latencies = stats.sorted();
+            all.addAll(latencies);
+            totalCount += latencies.size();
+            totalErrors += stats.errors;
+            printRow(entry.getKey(), latencies, stats.errors, elapsedSeconds);
+        }
+        Collections.sort(all);
+        printRow("total", all, totalErrors, elapsedSeconds);
+        if (totalCount == 0) {
+            System.out.println("No requests completed");
+        }
+    }
+
+    private static void printRow(String name, List<Long> sortedNanos, long errors, double elapsedSeconds) {
+        System.out.printf("%-10s %8d %7d %9.1f %9.1f %9.1f %9.1f %9.1f%n", name, sortedNanos.size(), errors,
+            sortedNanos.size() / elapsedSeconds,
+            percentile(sortedNanos, 0.50), percentile(sortedNanos, 0.90), percentile(sortedNanos, 0.99),
+            percentile(sortedNanos, 1.0));
+    }
+
+    private static double percentile(List<Long> sortedNanos, double quantile) {
+        if (sortedNanos.isEmpty()) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sortedNanos.size()) - 1;
+        return sortedNanos.get(Math.max(0, Math.min(index, sortedNanos.size() - 1))) / 1e6;
+    }
+
+    private static class Stats {
+        private final List<Long> latencies = new ArrayList<>();
+        private long errors;
+
+        synchronized void record(long nanos, boolean ok) {
+            latencies.add(nanos);
+            if (!ok) {
+                errors++;
+            }
+        }
+
+        synchronized List<Long> sorted() {
+            List<Long> copy = new ArrayList<>(latencies);
+            Collections.sort(copy);
+            return copy;
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.wecaare.insurance;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 import org.springframework.context.annotation.Bean;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
@@ -14,7 +15,10 @@ public class InsuranceApplication {
         System.out.println("🚀 WeCare Insurance API Server (Spring Boot)");
         System.out.println("=".repeat(50));
         
-        SpringApplication.run(InsuranceApplication.class, args);
+        // Record startup steps so StartupReportListener can log a phase breakdown
+        SpringApplication application = new SpringApplication(InsuranceApplication.class);
+        application.setApplicationStartup(new BufferingApplicationStartup(4096));
+        application.run(args);
         
         System.out.println("=".repeat(50));
         System.out.println("✅ Server started successfully!");
@@ -0,0 +1,18 @@
+package com.wecaare.insurance.audit;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+public class AuditEvent {
+    private Long userId;
+    private String action;
+    private String tableName;
+    private Long recordId;
+    private String oldValues;
+    private String newValues;
+    private String ipAddress;
+    private LocalDateTime createdAt;
+}
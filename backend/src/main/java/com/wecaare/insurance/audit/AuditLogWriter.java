@@ -0,0 +1,181 @@
+package com.wecaare.insurance.audit;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.sql.Timestamp;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+// Request threads enqueue audit events without locking; one background thread drains the queue and
+// inserts them in JDBC batches. When the queue is full, publishers wait up to audit.offer-timeout-ms
+// for room and then drop the event (counted in the stats) rather than stall the request.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AuditLogWriter implements MeterBinder {
+
+    private static final String INSERT_SQL =
+        "INSERT INTO audit_logs (user_id, action, table_name, record_id, old_values, new_values, ip_address, created_at) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${audit.queue-capacity:10000}")
+    private int capacity;
+
+    @Value("${audit.batch-size:200}")
+    private int batchSize;
+
+    @Value("${audit.flush-interval-ms:1000}")
+    private long flushIntervalMs;
+
+    @Value("${audit.offer-timeout-ms:50}")
+    private long offerTimeoutMs;
+
+    @Value("${audit.shutdown-timeout-ms:10000}")
+    private long shutdownTimeoutMs;
+
+    private final ConcurrentLinkedQueue<AuditEvent> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+
+    private volatile boolean running;
+    private Thread writerThread;
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        writerThread = new Thread(this::runWriter, "audit-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        LockSupport.unpark(writerThread);
+        try {
+            writerThread.join(shutdownTimeoutMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writerThread.isAlive() || size.get() > 0) {
+            log.warn("Audit writer stopped with {} events still queued", size.get());
+        } else {
+            log.info("Audit writer drained, {} events written", written.get());
+        }
+    }
+
+    public boolean publish(AuditEvent event) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(offerTimeoutMs);
+        while (true) {
+            int current = size.get();
+            if (current < capacity) {
+                if (size.compareAndSet(current, current + 1)) {
+                    queue.offer(event);
+                    if ((current + 1) % batchSize == 0) {
+                        LockSupport.unpark(writerThread);
+                    }
+                    return true;
+                }
+                continue;
+            }
+
+            // Full: make sure the writer is draining, then wait briefly for room
+            LockSupport.unpark(writerThread);
+            if (!running || System.nanoTime() >= deadline) {
+                long count = dropped.incrementAndGet();
+                if (count == 1 || count % 1000 == 0) {
+                    log.warn("Audit queue full ({} events), {} events dropped so far", capacity, count);
+                }
+                return false;
+            }
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+    }
+
+    private void runWriter() {
+        List<AuditEvent> batch = new ArrayList<>(batchSize);
+        long flushAt = 0;
+
+        while (true) {
+            AuditEvent event;
+            while (batch.size() < batchSize && (event = queue.poll()) != null) {
+                size.decrementAndGet();
+                if (batch.isEmpty()) {
+                    flushAt = System.currentTimeMillis() + flushIntervalMs;
+                }
+                batch.add(event);
+            }
+
+            boolean stopping = !running;
+            long now = System.currentTimeMillis();
+            if (batch.size() >= batchSize || (!batch.isEmpty() && (stopping || now >= flushAt))) {
+                flush(batch);
+                batch.clear();
+                continue;
+            }
+            if (stopping && size.get() == 0) {
+                return;
+            }
+
+            long waitMs = batch.isEmpty() ? flushIntervalMs : Math.max(1, flushAt - now);
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(stopping ? 1 : waitMs));
+        }
+    }
+
+    private void flush(List<AuditEvent> batch) {
+        List<Object[]> rows = new ArrayList<>(batch.size());
+        for (AuditEvent event : batch) {
+            rows.add(new Object[] {
+                event.getUserId(), event.getAction(), event.getTableName(), event.getRecordId(),
+                event.getOldValues(), event.getNewValues(), event.getIpAddress(), Timestamp.valueOf(event.getCreatedAt())
+            });
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_SQL, rows));
+            written.addAndGet(rows.size());
+            batches.incrementAndGet();
+        } catch (RuntimeException e) {
+            failed.addAndGet(rows.size());
+            log.error("Failed to write {} audit events", rows.size(), e);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("audit.queue.size", size, AtomicInteger::get).register(registry);
+        FunctionCounter.builder("audit.events", written, AtomicLong::get).tag("outcome", "written").register(registry);
+        FunctionCounter.builder("audit.events", dropped, AtomicLong::get).tag("outcome", "dropped").register(registry);
+        FunctionCounter.builder("audit.events", failed, AtomicLong::get).tag("outcome", "failed").register(registry);
+    }
+    
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("queued", size.get());
+        stats.put("capacity", capacity);
+        stats.put("written", written.get());
+        stats.put("batches", batches.get());
+        stats.put("dropped", dropped.get());
+        stats.put("failed", failed.get());
+        return stats;
+    }
+}
@@ -0,0 +1,81 @@
+package com.wecaare.insurance.audit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wecaare.insurance.security.UserDetailsImpl;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import java.time.LocalDateTime;
+
+// Entry point for services: captures who/where on the calling thread and hands the event to
+// AuditLogWriter once the surrounding transaction commits, so rolled-back changes are never audited.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AuditTrail {
+
+    public static final String INSURANCE_RECORDS = "insurance_records";
+
+    private final AuditLogWriter writer;
+    private final ObjectMapper objectMapper;
+
+    // Serialize "before" state right away, the entity is about to be modified
+    public String snapshot(Object state) {
+        if (state == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(state);
+        } catch (JsonProcessingException e) {
+            log.warn("Could not serialize audit snapshot: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    // newState is serialized at commit, after the flush has applied @PreUpdate timestamps
+    public void record(String action, String tableName, Long recordId, String oldValues, Object newState) {
+        Long userId = currentUserId();
+        String ipAddress = currentIpAddress();
+        LocalDateTime createdAt = LocalDateTime.now();
+
+        Runnable publish = () -> writer.publish(new AuditEvent(
+            userId, action, tableName, recordId, oldValues, snapshot(newState), ipAddress, createdAt));
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish.run();
+                }
+            });
+        } else {
+            publish.run();
+        }
+    }
+
+    private static Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserDetailsImpl) {
+            return ((UserDetailsImpl) authentication.getPrincipal()).getId();
+        }
+        return null;
+    }
+
+    // The client, not the proxy: Tomcat resolves it from X-Forwarded-For set by trusted proxies
+    // (server.forward-headers-strategy / TRUSTED_PROXIES), the same address the login throttle uses
+    private static String currentIpAddress() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes) {
+            return ((ServletRequestAttributes) attributes).getRequest().getRemoteAddr();
+        }
+        return null;
+    }
+}
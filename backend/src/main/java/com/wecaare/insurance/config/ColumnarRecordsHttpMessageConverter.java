@@ -0,0 +1,138 @@
+package com.wecaare.insurance.config;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.wecaare.insurance.dto.RecordListResponse;
+import com.wecaare.insurance.model.InsuranceRecord;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.util.*;
+
+// Column-oriented form of the record list responses: every field name is written once and followed by
+// that field's values for all rows, instead of one keyed object per row.
+//   { "total": 2, "records": { "id": [7, 9], "customerName": ["ANIL", "PRIYA"], ... } }
+// Chosen with Accept: application/vnd.wecaare.columnar+json, or +cbor for the same shape in binary.
+// Only RecordListResponse is written here, so no other endpoint can be asked for these types. Values are
+// streamed straight to the response through a Jackson generator; the other fields of the response
+// (total, page, dateRange...) are written as usual.
+public class ColumnarRecordsHttpMessageConverter extends AbstractHttpMessageConverter<RecordListResponse> {
+
+    public static final MediaType COLUMNAR_JSON = MediaType.parseMediaType("application/vnd.wecaare.columnar+json");
+    public static final MediaType COLUMNAR_CBOR = MediaType.parseMediaType("application/vnd.wecaare.columnar+cbor");
+
+    private static final List<MediaType> PRODUCIBLE = List.of(
+        MediaType.parseMediaType("application/*+json"), MediaType.parseMediaType("application/*+cbor"));
+
+    private static final String RECORDS = "records";
+
+    private final ObjectMapper jsonMapper;
+    private final ObjectMapper cborMapper;
+    // Taken from Jackson's own view of the classes, so names, order and ignored fields match the row-form JSON
+    private final List<BeanPropertyDefinition> responseFields;
+    private final List<BeanPropertyDefinition> recordColumns;
+
+    public ColumnarRecordsHttpMessageConverter(ObjectMapper objectMapper) {
+        super(COLUMNAR_JSON, COLUMNAR_CBOR);
+        this.jsonMapper = objectMapper;
+        // Same modules and date settings as the JSON mapper, CBOR encoding
+        this.cborMapper = objectMapper.copyWith(new CBORFactory());
+        this.responseFields = serializedProperties(objectMapper, RecordListResponse.class);
+        this.recordColumns = serializedProperties(objectMapper, InsuranceRecord.class);
+    }
+
+    private static List<BeanPropertyDefinition> serializedProperties(ObjectMapper mapper, Class<?> type) {
+        BeanDescription description = mapper.getSerializationConfig().introspect(mapper.constructType(type));
+        List<BeanPropertyDefinition> properties = new ArrayList<>();
+        for (BeanPropertyDefinition property : description.findProperties()) {
+            if (property.couldSerialize() && property.getAccessor() != null) {
+                properties.add(property);
+            }
+        }
+        return properties;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return RecordListResponse.class.isAssignableFrom(clazz);
+    }
+
+    // Offered to content negotiation only as suffix wildcards, which are never picked as the response type
+    // themselves: a request naming a columnar type resolves to that type and is written here, while
+    // Accept: */* still settles on application/json even though this converter comes first.
+    // Writing itself checks the two concrete types.
+    @Override
+    public List<MediaType> getSupportedMediaTypes(Class<?> clazz) {
+        return supports(clazz) ? PRODUCIBLE : List.of();
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected RecordListResponse readInternal(Class<? extends RecordListResponse> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Columnar formats are response-only", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(RecordListResponse body, HttpOutputMessage outputMessage) throws IOException {
+        MediaType contentType = outputMessage.getHeaders().getContentType();
+        ObjectMapper mapper = contentType != null && COLUMNAR_CBOR.isCompatibleWith(contentType) ? cborMapper : jsonMapper;
+
+        // The servlet stream is left open for Spring to flush and close, as with the regular Jackson converter
+        try (JsonGenerator generator = mapper.createGenerator(StreamUtils.nonClosing(outputMessage.getBody()), JsonEncoding.UTF8)) {
+            generator.writeStartObject();
+            for (BeanPropertyDefinition field : responseFields) {
+                Object value = field.getAccessor().getValue(body);
+                if (RECORDS.equals(field.getName()) && value instanceof List) {
+                    generator.writeFieldName(RECORDS);
+                    writeColumns(generator, (List<?>) value);
+                } else if (value != null) {
+                    generator.writeFieldName(field.getName());
+                    generator.writeObject(value);
+                }
+            }
+            generator.writeEndObject();
+        }
+    }
+
+    // Nulls are written in place so every column stays aligned with the others
+    private void writeColumns(JsonGenerator generator, List<?> rows) throws IOException {
+        generator.writeStartObject();
+        if (!rows.isEmpty() && rows.get(0) instanceof InsuranceRecord) {
+            for (BeanPropertyDefinition column : recordColumns) {
+                generator.writeFieldName(column.getName());
+                generator.writeStartArray(rows, rows.size());
+                for (Object row : rows) {
+                    generator.writeObject(column.getAccessor().getValue(row));
+                }
+                generator.writeEndArray();
+            }
+        } else if (!rows.isEmpty() && rows.get(0) instanceof Map) {
+            Set<Object> keys = new LinkedHashSet<>();
+            for (Object row : rows) {
+                keys.addAll(((Map<?, ?>) row).keySet());
+            }
+            for (Object key : keys) {
+                generator.writeFieldName(String.valueOf(key));
+                generator.writeStartArray(rows, rows.size());
+                for (Object row : rows) {
+                    generator.writeObject(((Map<?, ?>) row).get(key));
+                }
+                generator.writeEndArray();
+            }
+        }
+        generator.writeEndObject();
+    }
+}
@@ -21,44 +21,44 @@ public class DataInitializer implements CommandLineRunner {
         log.info("Initializing default users...");
         
         // Initialize Admin user: smitha / smithamg33
-        if (!userRepository.existsByUsername("smitha")) {
-            User adminUser = new User();
-            adminUser.setUsername("smitha");
-            adminUser.setPassword(passwordEncoder.encode("smithamg33"));
-            adminUser.setRole("admin");
-            userRepository.save(adminUser);
-            log.info("✅ Admin user 'smitha' created successfully");
-        } else {
-            // Update password in case it changed
-            User adminUser = userRepository.findByUsername("smitha").orElse(null);
-            if (adminUser != null) {
-                adminUser.setPassword(passwordEncoder.encode("smithamg33"));
-                adminUser.setRole("admin");
-                userRepository.save(adminUser);
-                log.info("✅ Admin user 'smitha' password updated");
-            }
-        }
+        ensureUser("smitha", "smithamg33", "admin");
         
         // Initialize Staff user: wecare / wecare
-        if (!userRepository.existsByUsername("wecare")) {
-            User staffUser = new User();
-            staffUser.setUsername("wecare");
-            staffUser.setPassword(passwordEncoder.encode("wecare"));
-            staffUser.setRole("staff");
-            userRepository.save(staffUser);
-            log.info("✅ Staff user 'wecare' created successfully");
-        } else {
-            // Update password in case it changed
-            User staffUser = userRepository.findByUsername("wecare").orElse(null);
-            if (staffUser != null) {
-                staffUser.setPassword(passwordEncoder.encode("wecare"));
-                staffUser.setRole("staff");
-                userRepository.save(staffUser);
-                log.info("✅ Staff user 'wecare' password updated");
-            }
-        }
+        ensureUser("wecare", "wecare", "staff");
         
         log.info("User initialization completed!");
     }
+    
+    private void ensureUser(String username, String password, String role) {
+        User user = userRepository.findByUsername(username).orElse(null);
+        if (user == null) {
+            user = new User();
+            user.setUsername(username);
+            user.setPassword(passwordEncoder.encode(password));
+            user.setRole(role);
+            userRepository.save(user);
+            log.info("✅ {} user '{}' created successfully", role, username);
+            return;
+        }
+        
+        // Only re-encode and save when something actually changed: verifying the stored hash is one
+        // BCrypt check, while re-encoding on every boot cost an encode plus a write per user
+        boolean changed = false;
+        if (!passwordEncoder.matches(password, user.getPassword())
+                || passwordEncoder.upgradeEncoding(user.getPassword())) {
+            user.setPassword(passwordEncoder.encode(password));
+            changed = true;
+        }
+        if (!role.equals(user.getRole())) {
+            user.setRole(role);
+            changed = true;
+        }
+        
+        if (changed) {
+            userRepository.save(user);
+            log.info("✅ {} user '{}' updated", role, username);
+        } else {
+            log.info("✅ {} user '{}' is up to date", role, username);
+        }
+    }
 }
-
@@ -1,11 +1,17 @@
 package com.wecaare.insurance.config;
 
+import com.zaxxer.hikari.HikariDataSource;
 import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
 import org.springframework.boot.jdbc.DataSourceBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
 
 import javax.sql.DataSource;
 import java.net.URI;
@@ -18,34 +24,221 @@ public class DatabaseConfig {
     @Value("${DATABASE_URL:}")
     private String databaseUrl;
 
+    // "tuned" = WAL + single writer + read-only pool, "default" = one plain pool
+    @Value("${db.sqlite.mode:tuned}")
+    private String sqliteMode;
+
+    @Value("${db.sqlite.read-pool-size:4}")
+    private int sqliteReadPoolSize;
+
+    @Value("${db.sqlite.cache-size-kb:20000}")
+    private int sqliteCacheSizeKb;
+
+    @Value("${db.sqlite.mmap-size:268435456}")
+    private long sqliteMmapSize;
+
+    @Value("${db.sqlite.synchronous:NORMAL}")
+    private String sqliteSynchronous;
+
+    @Value("${db.sqlite.busy-timeout-ms:5000}")
+    private int sqliteBusyTimeoutMs;
+
+    @Value("${db.sqlite.write-queue-timeout-ms:30000}")
+    private long sqliteWriteQueueTimeoutMs;
+
+    // Read replica: DATABASE_REPLICA_URL in the same postgresql:// format as DATABASE_URL,
+    // or any JDBC URL (e.g. a second SQLite file) with db.replica.username/password
+    @Value("${db.replica.url:}")
+    private String replicaUrl;
+
+    @Value("${db.replica.username:}")
+    private String replicaUsername;
+
+    @Value("${db.replica.password:}")
+    private String replicaPassword;
+
+    // How long a user keeps reading from the primary after one of their writes commits
+    @Value("${db.replica.sticky-window-ms:5000}")
+    private long replicaStickyWindowMs;
+
+    // How long reads stay on the primary after the replica refused a connection
+    @Value("${db.replica.retry-after-ms:30000}")
+    private long replicaRetryAfterMs;
+
+    // Statement timing proxy (slow-query log, per-request statement counts, top-N view)
+    @Value("${db.profiling.enabled:true}")
+    private boolean profilingEnabled;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    // Connections checked out at once across all pools; 0 = the pools' combined size when running on
+    // virtual threads, otherwise off (Tomcat's worker pool already bounds concurrency)
+    @Value("${db.concurrency.limit:0}")
+    private int concurrencyLimit;
+
+    @Value("${db.concurrency.max-waiting:200}")
+    private int concurrencyMaxWaiting;
+
+    @Value("${db.concurrency.acquire-timeout-ms:10000}")
+    private long concurrencyAcquireTimeoutMs;
+
     @Bean
     @Primary
-    public DataSource dataSource() {
+    public DataSource dataSource(DataSourceProperties properties, SqlStatementProfiler profiler) {
+        DataSource dataSource = limitConcurrency(createDataSource(properties));
+        if (!profilingEnabled) {
+            return dataSource;
+        }
+        return ProxyDataSourceBuilder.create(dataSource)
+            .name("main")
+            .listener(profiler)
+            .build();
+    }
+    
+    // With a replica, read-only transactions routed to it must not fill the second-level and query
+    // caches; the dialect has to be set before the EntityManagerFactory initialises
+    @Bean
+    public static BeanPostProcessor replicaAwareJpaDialect() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof LocalContainerEntityManagerFactoryBean) {
+                    LocalContainerEntityManagerFactoryBean factory = (LocalContainerEntityManagerFactoryBean) bean;
+                    DataSource target = unwrapProxy(factory.getDataSource());
+                    if (target instanceof ReadWriteRoutingDataSource) {
+                        factory.setJpaDialect(new ReplicaAwareJpaDialect((ReadWriteRoutingDataSource) target));
+                    }
+                }
+                return bean;
+            }
+        };
+    }
+    
+    // The DataSource underneath the statement timing proxy and concurrency limiter, for code that needs
+    // the router or pools
+    public static DataSource unwrapProxy(DataSource dataSource) {
+        DataSource target = dataSource instanceof ProxyDataSource ? ((ProxyDataSource) dataSource).getDataSource() : dataSource;
+        return target instanceof ConcurrencyLimitingDataSource
+            ? ((ConcurrencyLimitingDataSource) target).getTargetDataSource()
+            : target;
+    }
+
+    public static ConcurrencyLimitingDataSource findLimiter(DataSource dataSource) {
+        DataSource target = dataSource instanceof ProxyDataSource ? ((ProxyDataSource) dataSource).getDataSource() : dataSource;
+        return target instanceof ConcurrencyLimitingDataSource ? (ConcurrencyLimitingDataSource) target : null;
+    }
+
+    private DataSource limitConcurrency(DataSource dataSource) {
+        int limit = concurrencyLimit;
+        if (limit <= 0) {
+            if (!virtualThreadsActive()) {
+                return dataSource;
+            }
+            limit = poolCapacity(dataSource);
+        }
+        log.info("Limiting database access to {} concurrent connections, {} waiting, {} ms timeout",
+            limit, concurrencyMaxWaiting, concurrencyAcquireTimeoutMs);
+        return new ConcurrencyLimitingDataSource(dataSource, limit, concurrencyMaxWaiting, concurrencyAcquireTimeoutMs);
+    }
+
+    // spring.threads.virtual.enabled only takes effect on Java 21 and later
+    private boolean virtualThreadsActive() {
+        if (virtualThreads && Runtime.version().feature() < 21) {
+            log.warn("spring.threads.virtual.enabled is set but Java {} has no virtual threads, using platform threads",
+                Runtime.version().feature());
+            return false;
+        }
+        return virtualThreads;
+    }
+
+    // Connections the pools can hand out together; the replica fallback counts its replica pool only
+    private static int poolCapacity(DataSource dataSource) {
+        if (dataSource instanceof HikariDataSource) {
+            return ((HikariDataSource) dataSource).getMaximumPoolSize();
+        }
+        if (dataSource instanceof ReadWriteRoutingDataSource) {
+            ReadWriteRoutingDataSource routing = (ReadWriteRoutingDataSource) dataSource;
+            return poolCapacity(routing.getWriteDataSource()) + poolCapacity(routing.getReadDataSource());
+        }
+        if (dataSource instanceof FallbackDataSource) {
+            return poolCapacity(((FallbackDataSource) dataSource).getTargetDataSource());
+        }
+        return 10;
+    }
+
+    private DataSource createDataSource(DataSourceProperties properties) {
+        DataSource primary;
+        
         // If DATABASE_URL is provided (Render PostgreSQL format), parse it
         if (databaseUrl != null && !databaseUrl.isEmpty() && databaseUrl.startsWith("postgresql://")) {
-            try {
-                URI dbUri = new URI(databaseUrl);
-                String username = dbUri.getUserInfo().split(":")[0];
-                String password = dbUri.getUserInfo().split(":")[1];
-                String dbUrl = "jdbc:postgresql://" + dbUri.getHost() + ':' + dbUri.getPort() + dbUri.getPath();
-
-                log.info("Configuring PostgreSQL database from DATABASE_URL");
-                
-                return DataSourceBuilder.create()
-                    .url(dbUrl)
-                    .username(username)
-                    .password(password)
-                    .driverClassName("org.postgresql.Driver")
-                    .build();
-            } catch (URISyntaxException | ArrayIndexOutOfBoundsException e) {
-                log.error("Error parsing DATABASE_URL: {}", databaseUrl, e);
-                throw new RuntimeException("Invalid DATABASE_URL format", e);
+            log.info("Configuring PostgreSQL database from DATABASE_URL");
+            HikariDataSource postgres = postgresDataSource(databaseUrl, "DATABASE_URL");
+            postgres.setPoolName("primary");
+            primary = postgres;
+        } else {
+            String url = properties.determineUrl();
+            if (url != null && url.startsWith("jdbc:sqlite:") && "tuned".equalsIgnoreCase(sqliteMode)) {
+                if (!replicaUrl.isEmpty()) {
+                    log.warn("db.replica.url is ignored in tuned SQLite mode, reads already use the read-only pool");
+                }
+                log.info("Configuring SQLite in WAL mode with a single writer and {} read-only connections",
+                    sqliteReadPoolSize);
+                return SqliteDataSourceFactory.create(url, sqliteReadPoolSize, sqliteCacheSizeKb, sqliteMmapSize,
+                    sqliteSynchronous, sqliteBusyTimeoutMs, sqliteWriteQueueTimeoutMs);
             }
+            
+            // Otherwise, use Spring Boot's default configuration from application.properties
+            log.info("Using default datasource configuration from application.properties");
+            primary = properties.initializeDataSourceBuilder().build();
         }
         
-        // Otherwise, use Spring Boot's default configuration from application.properties
-        log.info("Using default datasource configuration from application.properties");
-        return DataSourceBuilder.create().build();
+        if (replicaUrl.isEmpty()) {
+            return primary;
+        }
+        
+        log.info("Routing read-only transactions to replica, sticky window {} ms", replicaStickyWindowMs);
+        DataSource replica = new FallbackDataSource(replicaDataSource(), primary, replicaRetryAfterMs);
+        return new ReadWriteRoutingDataSource(primary, replica, replicaStickyWindowMs);
+    }
+    
+    private DataSource replicaDataSource() {
+        HikariDataSource replica;
+        if (replicaUrl.startsWith("postgresql://")) {
+            replica = postgresDataSource(replicaUrl, "DATABASE_REPLICA_URL");
+        } else {
+            replica = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(replicaUrl)
+                .username(replicaUsername)
+                .password(replicaPassword)
+                .build();
+        }
+        replica.setPoolName("replica");
+        // sqlite-jdbc only accepts read-only when opening the file and fails every connection otherwise
+        if (!replicaUrl.startsWith("jdbc:sqlite:")) {
+            replica.setReadOnly(true);
+        }
+        return replica;
+    }
+    
+    private HikariDataSource postgresDataSource(String postgresUrl, String source) {
+        try {
+            URI dbUri = new URI(postgresUrl);
+            String username = dbUri.getUserInfo().split(":")[0];
+            String password = dbUri.getUserInfo().split(":")[1];
+            String dbUrl = "jdbc:postgresql://" + dbUri.getHost() + ':' + dbUri.getPort() + dbUri.getPath();
+            
+            return DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(dbUrl)
+                .username(username)
+                .password(password)
+                .driverClassName("org.postgresql.Driver")
+                .build();
+        } catch (URISyntaxException | ArrayIndexOutOfBoundsException | NullPointerException e) {
+            log.error("Error parsing {}", source, e);
+            throw new RuntimeException("Invalid " + source + " format", e);
+        }
     }
 }
-
@@ -0,0 +1,47 @@
+package com.wecaare.insurance.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+// Read replica with fallback: if the replica cannot hand out a connection, reads go to the primary
+// and the replica is skipped for retryAfterMs before it is tried again.
+@Slf4j
+public class FallbackDataSource extends DelegatingDataSource implements Closeable {
+    
+    private final DataSource fallback;
+    private final long retryAfterMs;
+    private volatile long unavailableUntil;
+    
+    public FallbackDataSource(DataSource replica, DataSource fallback, long retryAfterMs) {
+        super(replica);
+        this.fallback = fallback;
+        this.retryAfterMs = retryAfterMs;
+    }
+    
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (System.currentTimeMillis() < unavailableUntil) {
+            return fallback.getConnection();
+        }
+        try {
+            return obtainTargetDataSource().getConnection();
+        } catch (SQLException e) {
+            unavailableUntil = System.currentTimeMillis() + retryAfterMs;
+            log.warn("Read replica unavailable, using primary for {} ms: {}", retryAfterMs, e.getMessage());
+            return fallback.getConnection();
+        }
+    }
+    
+    @Override
+    public void close() throws IOException {
+        if (obtainTargetDataSource() instanceof Closeable) {
+            ((Closeable) obtainTargetDataSource()).close();
+        }
+    }
+}
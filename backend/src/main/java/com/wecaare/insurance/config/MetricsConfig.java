@@ -0,0 +1,69 @@
+package com.wecaare.insurance.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+@Configuration
+public class MetricsConfig {
+
+    // The Hikari pools sit behind the read/write router and replica fallback, where Spring Boot's
+    // pool metrics cannot see them, so gauges are registered for every pool in the DataSource graph
+    @Bean
+    public MeterBinder connectionPoolMetrics(DataSource dataSource) {
+        return registry -> {
+            List<HikariDataSource> pools = new ArrayList<>();
+            collectPools(DatabaseConfig.unwrapProxy(dataSource), pools);
+            for (HikariDataSource pool : pools) {
+                String name = pool.getPoolName() != null ? pool.getPoolName() : "default";
+                registerGauge(registry, pool, name, "active", HikariPoolMXBean::getActiveConnections);
+                registerGauge(registry, pool, name, "idle", HikariPoolMXBean::getIdleConnections);
+                registerGauge(registry, pool, name, "pending", HikariPoolMXBean::getThreadsAwaitingConnection);
+                registerGauge(registry, pool, name, "total", HikariPoolMXBean::getTotalConnections);
+                Gauge.builder("db.pool.max", pool, HikariDataSource::getMaximumPoolSize)
+                    .tag("pool", name)
+                    .register(registry);
+            }
+
+            ConcurrencyLimitingDataSource limiter = DatabaseConfig.findLimiter(dataSource);
+            if (limiter != null) {
+                Gauge.builder("db.concurrency.limit", limiter, ConcurrencyLimitingDataSource::getLimit).register(registry);
+                Gauge.builder("db.concurrency.in-use", limiter, ConcurrencyLimitingDataSource::getInUse).register(registry);
+                Gauge.builder("db.concurrency.waiting", limiter, ConcurrencyLimitingDataSource::getWaiting).register(registry);
+            }
+        };
+    }
+
+    private static void collectPools(DataSource dataSource, List<HikariDataSource> pools) {
+        if (dataSource instanceof HikariDataSource) {
+            pools.add((HikariDataSource) dataSource);
+        } else if (dataSource instanceof ReadWriteRoutingDataSource) {
+            ReadWriteRoutingDataSource routing = (ReadWriteRoutingDataSource) dataSource;
+            collectPools(routing.getWriteDataSource(), pools);
+            collectPools(routing.getReadDataSource(), pools);
+        } else if (dataSource instanceof FallbackDataSource) {
+            collectPools(((FallbackDataSource) dataSource).getTargetDataSource(), pools);
+        }
+    }
+
+    // Pools start lazily; until then the MXBean is null and the gauge reports NaN
+    private static void registerGauge(MeterRegistry registry, HikariDataSource pool, String name, String state,
+                                      ToIntFunction<HikariPoolMXBean> value) {
+        Gauge.builder("db.pool.connections", pool, ds -> {
+                HikariPoolMXBean mxBean = ds.getHikariPoolMXBean();
+                return mxBean != null ? value.applyAsInt(mxBean) : Double.NaN;
+            })
+            .tag("pool", name)
+            .tag("state", state)
+            .register(registry);
+    }
+}
@@ -0,0 +1,137 @@
+package com.wecaare.insurance.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.wecaare.insurance.security.UserDetailsImpl;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+// Sends @Transactional(readOnly = true) work to the read DataSource and everything else to the write one.
+// The lazy proxy defers fetching the physical connection until the first statement, by which time
+// the transaction's read-only flag is known.
+// With a sticky window, a login whose write transaction committed recently keeps reading from the
+// write DataSource for that long, so it always sees its own writes despite replica lag. Logins are
+// told apart by token (jti) because staff share accounts.
+public class ReadWriteRoutingDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+    
+    private static final String WRITE = "write";
+    private static final String READ = "read";
+    
+    private final DataSource writeDataSource;
+    private final DataSource readDataSource;
+    // A replica may lag the primary; the SQLite read-only pool reads the same file and cannot
+    private final boolean readsMayLag;
+    private final Cache<String, Boolean> recentWriters;
+    
+    public ReadWriteRoutingDataSource(DataSource writeDataSource, DataSource readDataSource) {
+        this(writeDataSource, readDataSource, false, 0);
+    }
+    
+    // Read side is a replica that may lag the primary
+    public ReadWriteRoutingDataSource(DataSource writeDataSource, DataSource readDataSource, long stickyWindowMs) {
+        this(writeDataSource, readDataSource, true, stickyWindowMs);
+    }
+    
+    private ReadWriteRoutingDataSource(DataSource writeDataSource, DataSource readDataSource,
+                                       boolean readsMayLag, long stickyWindowMs) {
+        this.writeDataSource = writeDataSource;
+        this.readDataSource = readDataSource;
+        this.readsMayLag = readsMayLag;
+        this.recentWriters = stickyWindowMs > 0
+            ? Caffeine.newBuilder().expireAfterWrite(Duration.ofMillis(stickyWindowMs)).maximumSize(10_000).build()
+            : null;
+        
+        AbstractRoutingDataSource router = new AbstractRoutingDataSource() {
+            @Override
+            protected Object determineCurrentLookupKey() {
+                return route();
+            }
+        };
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(WRITE, writeDataSource);
+        targets.put(READ, readDataSource);
+        router.setTargetDataSources(targets);
+        router.setDefaultTargetDataSource(writeDataSource);
+        router.afterPropertiesSet();
+        
+        setTargetDataSource(router);
+    }
+    
+    // Whether a read-only transaction the caller starts now reads from a replica that may be behind,
+    // and so must not fill the shared second-level and query caches (see ReplicaAwareJpaDialect)
+    public boolean readsFromLaggingReplica() {
+        return readsMayLag && !recentlyWrote();
+    }
+    
+    private String route() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            trackWrite();
+            return WRITE;
+        }
+        return recentlyWrote() ? WRITE : READ;
+    }
+    
+    private boolean recentlyWrote() {
+        if (recentWriters == null) {
+            return false;
+        }
+        String writer = currentSession();
+        return writer != null && recentWriters.getIfPresent(writer) != null;
+    }
+    
+    private void trackWrite() {
+        if (recentWriters == null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        String writer = currentSession();
+        if (writer == null) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                recentWriters.put(writer, Boolean.TRUE);
+            }
+        });
+    }
+    
+    private static String currentSession() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null) {
+            return null;
+        }
+        if (authentication.getPrincipal() instanceof UserDetailsImpl) {
+            return ((UserDetailsImpl) authentication.getPrincipal()).getSessionKey();
+        }
+        return authentication.getName();
+    }
+    
+    public DataSource getWriteDataSource() {
+        return writeDataSource;
+    }
+    
+    public DataSource getReadDataSource() {
+        return readDataSource;
+    }
+    
+    @Override
+    public void close() throws IOException {
+        if (readDataSource instanceof Closeable) {
+            ((Closeable) readDataSource).close();
+        }
+        if (writeDataSource instanceof Closeable) {
+            ((Closeable) writeDataSource).close();
+        }
+    }
+}
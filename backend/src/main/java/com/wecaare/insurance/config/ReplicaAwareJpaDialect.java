@@ -0,0 +1,67 @@
+package com.wecaare.insurance.config;
+
+import jakarta.persistence.CacheRetrieveMode;
+import jakarta.persistence.CacheStoreMode;
+import jakarta.persistence.EntityManager;
+import lombok.AllArgsConstructor;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.sql.SQLException;
+import java.util.Map;
+
+// Read-only transactions served by a lagging replica bypass the second-level and query caches: a row
+// the replica has not caught up on would otherwise be cached and served to everyone, including the
+// user who just wrote it, until the region expires. Reads are bypassed too, not only puts, because
+// Hibernate 6.3 stores a cacheable query's results on a miss whenever cache reads are enabled.
+// The modes are EntityManager properties (Hibernate re-applies them on every find, so
+// Session.setCacheMode alone does not stick) and the EntityManager outlives the transaction under
+// open-in-view, so the previous modes are restored when the transaction ends.
+public class ReplicaAwareJpaDialect extends HibernateJpaDialect {
+
+    private static final String RETRIEVE_MODE = "jakarta.persistence.cache.retrieveMode";
+    private static final String STORE_MODE = "jakarta.persistence.cache.storeMode";
+
+    private final ReadWriteRoutingDataSource routing;
+
+    public ReplicaAwareJpaDialect(ReadWriteRoutingDataSource routing) {
+        this.routing = routing;
+    }
+
+    @Override
+    public Object beginTransaction(EntityManager entityManager, TransactionDefinition definition)
+            throws SQLException {
+        Object transactionData = super.beginTransaction(entityManager, definition);
+        if (!definition.isReadOnly() || !routing.readsFromLaggingReplica()) {
+            return transactionData;
+        }
+        Map<String, Object> properties = entityManager.getProperties();
+        ReplicaTransactionData replica = new ReplicaTransactionData(transactionData, entityManager,
+            properties.getOrDefault(RETRIEVE_MODE, CacheRetrieveMode.USE),
+            properties.getOrDefault(STORE_MODE, CacheStoreMode.USE));
+        entityManager.setProperty(RETRIEVE_MODE, CacheRetrieveMode.BYPASS);
+        entityManager.setProperty(STORE_MODE, CacheStoreMode.BYPASS);
+        return replica;
+    }
+
+    @Override
+    public void cleanupTransaction(Object transactionData) {
+        if (transactionData instanceof ReplicaTransactionData) {
+            ReplicaTransactionData replica = (ReplicaTransactionData) transactionData;
+            if (replica.entityManager.isOpen()) {
+                replica.entityManager.setProperty(RETRIEVE_MODE, replica.previousRetrieveMode);
+                replica.entityManager.setProperty(STORE_MODE, replica.previousStoreMode);
+            }
+            transactionData = replica.transactionData;
+        }
+        super.cleanupTransaction(transactionData);
+    }
+
+    @AllArgsConstructor
+    private static class ReplicaTransactionData {
+        private final Object transactionData;
+        private final EntityManager entityManager;
+        private final Object previousRetrieveMode;
+        private final Object previousStoreMode;
+    }
+}
@@ -0,0 +1,66 @@
+package com.wecaare.insurance.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+
+// Counts the SQL statements each request issues (security filters included, hence the early order).
+// Requests above db.profiling.request-statement-warn are logged as likely N+1 patterns.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@RequiredArgsConstructor
+@Slf4j
+public class SqlStatementCountFilter extends OncePerRequestFilter {
+    
+    public static final String STATEMENT_COUNT_HEADER = "X-SQL-Statement-Count";
+    
+    private final SqlStatementProfiler profiler;
+    private final MeterRegistry meterRegistry;
+    
+    // Dev only: buffers each response so the header can be set after the handler has run
+    @Value("${db.profiling.statement-count-header:false}")
+    private boolean statementCountHeader;
+    
+    @Value("${db.profiling.request-statement-warn:50}")
+    private int requestStatementWarn;
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        profiler.beginRequest();
+        ContentCachingResponseWrapper bufferedResponse =
+            statementCountHeader ? new ContentCachingResponseWrapper(response) : null;
+        int count = 0;
+        try {
+            filterChain.doFilter(request, bufferedResponse != null ? bufferedResponse : response);
+        } finally {
+            count = profiler.endRequest();
+            if (bufferedResponse != null) {
+                bufferedResponse.setHeader(STATEMENT_COUNT_HEADER, String.valueOf(count));
+                bufferedResponse.copyBodyToResponse();
+            }
+        }
+        
+        DistributionSummary.builder("http.server.requests.sql.statements")
+            .description("SQL statements issued per HTTP request")
+            .register(meterRegistry)
+            .record(count);
+        if (count > requestStatementWarn) {
+            log.warn("{} {} issued {} SQL statements", request.getMethod(), request.getRequestURI(), count);
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.wecaare.insurance.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+// Listener on the statement-timing proxy that DatabaseConfig puts around the DataSource.
+// Logs statements slower than db.profiling.slow-threshold-ms (parameter values are never logged, only their types),
+// counts statements per HTTP request and keeps per-statement timings for the admin top-N view.
+@Component
+@Slf4j
+public class SqlStatementProfiler implements QueryExecutionListener {
+    
+    private static final int MAX_SQL_LENGTH = 2000;
+    
+    private static final ThreadLocal<int[]> REQUEST_STATEMENTS = new ThreadLocal<>();
+    
+    @Value("${db.profiling.slow-threshold-ms:200}")
+    private long slowThresholdMs;
+    
+    @Value("${db.profiling.max-statements:1000}")
+    private long maxStatements;
+    
+    // Statements not executed for this long drop out of the top-N view
+    @Value("${db.profiling.window-minutes:60}")
+    private long windowMinutes;
+    
+    private Cache<String, StatementStats> statements;
+    
+    @PostConstruct
+    public void init() {
+        statements = Caffeine.newBuilder()
+            .maximumSize(maxStatements)
+            .expireAfterAccess(Duration.ofMinutes(windowMinutes))
+            .build();
+    }
+    
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+    
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        int[] counter = REQUEST_STATEMENTS.get();
+        if (counter != null) {
+            counter[0] += Math.max(1, execInfo.isBatch() ? execInfo.getBatchSize() : queryInfoList.size());
+        }
+        
+        long elapsedMs = execInfo.getElapsedTime();
+        for (QueryInfo queryInfo : queryInfoList) {
+            String sql = truncate(queryInfo.getQuery());
+            statements.get(sql, StatementStats::new).record(elapsedMs, execInfo.isSuccess());
+        }
+        
+        if (elapsedMs >= slowThresholdMs) {
+            for (QueryInfo queryInfo : queryInfoList) {
+                log.warn("Slow SQL ({} ms{}, params {}): {}", elapsedMs,
+                    execInfo.isBatch() ? ", batch of " + execInfo.getBatchSize() : "",
+                    redactedParameters(queryInfo), truncate(queryInfo.getQuery()));
+            }
+        }
+    }
+    
+    // Parameter types only, e.g. [String, Long], so no customer data reaches the logs
+    private static String redactedParameters(QueryInfo queryInfo) {
+        List<List<ParameterSetOperation>> parametersList = queryInfo.getParametersList();
+        if (parametersList == null || parametersList.isEmpty()) {
+            return "[]";
+        }
+        return parametersList.get(0).stream()
+            .map(operation -> {
+                Object[] args = operation.getArgs();
+                Object value = args != null && args.length > 1 ? args[1] : null;
+                return value != null ? value.getClass().getSimpleName() : "null";
+            })
+            .collect(Collectors.joining(", ", "[", "]"));
+    }
+    
+    private static String truncate(String sql) {
+        return sql.length() > MAX_SQL_LENGTH ? sql.substring(0, MAX_SQL_LENGTH) + "..." : sql;
+    }
+    
+    public void beginRequest() {
+        REQUEST_STATEMENTS.set(new int[1]);
+    }
+    
+    public int endRequest() {
+        int[] counter = REQUEST_STATEMENTS.get();
+        REQUEST_STATEMENTS.remove();
+        return counter != null ? counter[0] : 0;
+    }
+    
+    public int currentRequestCount() {
+        int[] counter = REQUEST_STATEMENTS.get();
+        return counter != null ? counter[0] : 0;
+    }
+    
+    // sort: max (default), total, mean or count
+    public List<Map<String, Object>> getTopStatements(String sort, Integer limit) {
+        Comparator<StatementStats> order;
+        switch (sort != null ? sort.toLowerCase() : "max") {
+            case "total" -> order = Comparator.comparingLong(StatementStats::totalMs);
+            case "mean" -> order = Comparator.comparingDouble(StatementStats::meanMs);
+            case "count" -> order = Comparator.comparingLong(StatementStats::count);
+            default -> order = Comparator.comparingLong(StatementStats::maxMs);
+        }
+        int topN = limit != null ? Math.max(1, Math.min(limit, 200)) : 20;
+        
+        return statements.asMap().values().stream()
+            .sorted(order.reversed())
+            .limit(topN)
+            .map(StatementStats::toMap)
+            .collect(Collectors.toList());
+    }
+    
+    public void reset() {
+        statements.invalidateAll();
+    }
+    
+    private static class StatementStats {
+        private final String sql;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder totalMs = new LongAdder();
+        private final AtomicLong maxMs = new AtomicLong();
+        private volatile long lastExecutedAt;
+        
+        StatementStats(String sql) {
+            this.sql = sql;
+        }
+        
+        void record(long elapsedMs, boolean success) {
+            count.increment();
+            totalMs.add(elapsedMs);
+            maxMs.accumulateAndGet(elapsedMs, Math::max);
+            if (!success) {
+                errors.increment();
+            }
+            lastExecutedAt = System.currentTimeMillis();
+        }
+        
+        long count() {
+            return count.sum();
+        }
+        
+        long totalMs() {
+            return totalMs.sum();
+        }
+        
+        long maxMs() {
+            return maxMs.get();
+        }
+        
+        double meanMs() {
+            long executions = count.sum();
+            return executions == 0 ? 0 : (double) totalMs.sum() / executions;
+        }
+        
+        Map<String, Object> toMap() {
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("sql", sql);
+            result.put("count", count());
+            result.put("errors", errors.sum());
+            result.put("totalMs", totalMs());
+            result.put("meanMs", Math.round(meanMs() * 100) / 100.0);
+            result.put("maxMs", maxMs());
+            result.put("lastExecutedAt", Instant.ofEpochMilli(lastExecutedAt).toString());
+            return result;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.wecaare.insurance.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.sqlite.SQLiteConfig;
+import org.sqlite.SQLiteDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.Properties;
+
+// SQLite allows one writer at a time. Instead of letting concurrent writers collide with SQLITE_BUSY,
+// all writes share a single pooled connection: callers queue for it (up to writeQueueTimeoutMs) and
+// are served in turn. WAL journaling lets a separate pool of read-only connections keep reading
+// while that writer is active.
+public final class SqliteDataSourceFactory {
+    
+    private SqliteDataSourceFactory() {
+    }
+    
+    public static ReadWriteRoutingDataSource create(String url, int readPoolSize, int cacheSizeKb,
+                                                    long mmapSize, String synchronous,
+                                                    int busyTimeoutMs, long writeQueueTimeoutMs) {
+        // Writer first: it switches the database file to WAL, which read-only connections cannot do
+        SQLiteConfig writeConfig = baseConfig(url, cacheSizeKb, mmapSize, busyTimeoutMs);
+        writeConfig.setJournalMode(SQLiteConfig.JournalMode.WAL);
+        writeConfig.setSynchronous(SQLiteConfig.SynchronousMode.valueOf(synchronous.toUpperCase()));
+        
+        HikariConfig writer = new HikariConfig();
+        writer.setPoolName("sqlite-writer");
+        writer.setDataSource(sqliteDataSource(url, writeConfig));
+        writer.setMaximumPoolSize(1);
+        writer.setMinimumIdle(1);
+        writer.setConnectionTimeout(writeQueueTimeoutMs);
+        HikariDataSource writeDataSource = new HikariDataSource(writer);
+        
+        SQLiteConfig readConfig = baseConfig(url, cacheSizeKb, mmapSize, busyTimeoutMs);
+        readConfig.setReadOnly(true);
+        
+        HikariConfig reader = new HikariConfig();
+        reader.setPoolName("sqlite-reader");
+        reader.setDataSource(sqliteDataSource(url, readConfig));
+        reader.setMaximumPoolSize(readPoolSize);
+        reader.setMinimumIdle(1);
+        reader.setReadOnly(true);
+        DataSource readDataSource = new HikariDataSource(reader);
+        
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(writeDataSource, readDataSource);
+        routing.setDefaultAutoCommit(true);
+        routing.setDefaultTransactionIsolation(Connection.TRANSACTION_SERIALIZABLE);
+        return routing;
+    }
+    
+    private static SQLiteConfig baseConfig(String url, int cacheSizeKb, long mmapSize, int busyTimeoutMs) {
+        // The driver lets the config's own defaults win over URL parameters, so settings given on the URL
+        // (date_string_format above all: existing rows store dates as text) have to seed the config
+        SQLiteConfig config = new SQLiteConfig(urlParameters(url));
+        // Negative cache_size is in KiB rather than pages
+        config.setCacheSize(-cacheSizeKb);
+        config.setPragma(SQLiteConfig.Pragma.MMAP_SIZE, String.valueOf(mmapSize));
+        config.setTempStore(SQLiteConfig.TempStore.MEMORY);
+        config.setBusyTimeout(busyTimeoutMs);
+        return config;
+    }
+    
+    private static Properties urlParameters(String url) {
+        Properties parameters = new Properties();
+        int query = url.indexOf('?');
+        if (query < 0) {
+            return parameters;
+        }
+        for (String parameter : url.substring(query + 1).split("&")) {
+            int equals = parameter.indexOf('=');
+            if (equals > 0) {
+                parameters.setProperty(parameter.substring(0, equals), parameter.substring(equals + 1));
+            }
+        }
+        return parameters;
+    }
+    
+    private static SQLiteDataSource sqliteDataSource(String url, SQLiteConfig config) {
+        SQLiteDataSource dataSource = new SQLiteDataSource(config);
+        dataSource.setUrl(url);
+        return dataSource;
+    }
+}
@@ -0,0 +1,61 @@
+package com.wecaare.insurance.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+import java.lang.management.ManagementFactory;
+import java.util.Comparator;
+import java.util.List;
+
+// Logs a startup phase breakdown once the application is ready. Relies on the
+// BufferingApplicationStartup installed in InsuranceApplication.main.
+@Component
+@Slf4j
+public class StartupReportListener implements ApplicationListener<ApplicationReadyEvent> {
+    
+    @Value("${startup.report.top-beans:10}")
+    private int topBeans;
+    
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        long jvmUptimeMs = ManagementFactory.getRuntimeMXBean().getUptime();
+        log.info("Startup report: ready {} ms after JVM start (Spring: {} ms)",
+            jvmUptimeMs, event.getTimeTaken() != null ? event.getTimeTaken().toMillis() : -1);
+        
+        ApplicationStartup startup = event.getApplicationContext().getApplicationStartup();
+        if (!(startup instanceof BufferingApplicationStartup)) {
+            return;
+        }
+        
+        // Drain so the recorded steps are released once reported
+        StartupTimeline timeline = ((BufferingApplicationStartup) startup).drainBufferedTimeline();
+        List<StartupTimeline.TimelineEvent> events = timeline.getEvents();
+        
+        // Top-level phases (application starting, environment, context refresh, ...)
+        events.stream()
+            .filter(e -> e.getStartupStep().getParentId() == null)
+            .forEach(e -> log.info("  phase {}: {} ms", e.getStartupStep().getName(), e.getDuration().toMillis()));
+        
+        // Slowest bean instantiations, which are usually where the time goes
+        events.stream()
+            .filter(e -> "spring.beans.instantiate".equals(e.getStartupStep().getName()))
+            .sorted(Comparator.comparing(StartupTimeline.TimelineEvent::getDuration).reversed())
+            .limit(topBeans)
+            .forEach(e -> log.info("  bean {}: {} ms", beanName(e.getStartupStep()), e.getDuration().toMillis()));
+    }
+    
+    private static String beanName(StartupStep step) {
+        for (StartupStep.Tag tag : step.getTags()) {
+            if ("beanName".equals(tag.getKey())) {
+                return tag.getValue();
+            }
+        }
+        return "?";
+    }
+}
@@ -0,0 +1,24 @@
+package com.wecaare.insurance.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+    private final ObjectMapper objectMapper;
+
+    // Ahead of the Jackson converter, which would otherwise take the +json type as plain row JSON.
+    // The converter only answers when one of its types is asked for by name, so Accept: */* and
+    // application/json keep getting plain JSON.
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(0, new ColumnarRecordsHttpMessageConverter(objectMapper));
+    }
+}
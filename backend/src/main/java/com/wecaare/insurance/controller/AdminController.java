@@ -1,13 +1,28 @@
 package com.wecaare.insurance.controller;
 
+import com.wecaare.insurance.audit.AuditLogWriter;
+import com.wecaare.insurance.config.SqlStatementProfiler;
 import com.wecaare.insurance.dto.ApiResponse;
 import com.wecaare.insurance.dto.FinancialDetailsRequest;
+import com.wecaare.insurance.dto.MergeRecordsRequest;
 import com.wecaare.insurance.model.InsuranceRecord;
+import com.wecaare.insurance.ratelimit.AdmissionControlFilter;
+import com.wecaare.insurance.security.TokenRevocationService;
+import com.wecaare.insurance.service.AuditLogService;
+import com.wecaare.insurance.service.CacheStatisticsService;
+import com.wecaare.insurance.service.DatabaseBackupService;
+import com.wecaare.insurance.service.DuplicateDetectionService;
 import com.wecaare.insurance.service.InsuranceRecordService;
+import com.wecaare.insurance.service.RecordArchiveService;
+import com.wecaare.insurance.service.RenewalReminderService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -17,6 +32,16 @@ import java.util.Map;
 public class AdminController {
     
     private final InsuranceRecordService insuranceRecordService;
+    private final RenewalReminderService renewalReminderService;
+    private final CacheStatisticsService cacheStatisticsService;
+    private final RecordArchiveService recordArchiveService;
+    private final DatabaseBackupService databaseBackupService;
+    private final AuditLogWriter auditLogWriter;
+    private final AuditLogService auditLogService;
+    private final SqlStatementProfiler sqlStatementProfiler;
+    private final AdmissionControlFilter admissionControlFilter;
+    private final DuplicateDetectionService duplicateDetectionService;
+    private final TokenRevocationService tokenRevocationService;
     
     @PutMapping("/insurance-records/{id}/financials")
     public ResponseEntity<ApiResponse> updateFinancials(
@@ -32,5 +57,134 @@ public class AdminController {
         Map<String, Object> summary = insuranceRecordService.getFinancialSummary();
         return ResponseEntity.ok(summary);
     }
+    
+    @PostMapping("/renewal-reminders/run")
+    public ResponseEntity<ApiResponse> runRenewalReminders() {
+        Map<String, Object> result = renewalReminderService.runReminders();
+        return ResponseEntity.ok(ApiResponse.success("Renewal reminders processed", result));
+    }
+    
+    @GetMapping("/renewal-reminders/status")
+    public ResponseEntity<Map<String, Object>> getRenewalReminderStatus() {
+        return ResponseEntity.ok(renewalReminderService.getStatus());
+    }
+    
+    @GetMapping("/cache-stats")
+    public ResponseEntity<Map<String, Object>> getCacheStats() {
+        return ResponseEntity.ok(cacheStatisticsService.getCacheStats());
+    }
+    
+    @PostMapping("/archive/run")
+    public ResponseEntity<ApiResponse> runArchive() {
+        Map<String, Object> result = recordArchiveService.archiveDeletedRecords();
+        return ResponseEntity.ok(ApiResponse.success("Deleted records archived", result));
+    }
+    
+    @GetMapping("/archive/status")
+    public ResponseEntity<Map<String, Object>> getArchiveStatus() {
+        return ResponseEntity.ok(recordArchiveService.getStatus());
+    }
+    
+    @GetMapping("/archive/records")
+    public ResponseEntity<List<Map<String, Object>>> getArchivedRecords(
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(recordArchiveService.getArchivedRecords(afterId, limit));
+    }
+    
+    @PostMapping("/archive/records/{id}/restore")
+    public ResponseEntity<ApiResponse> restoreArchivedRecord(@PathVariable Long id) {
+        recordArchiveService.restoreRecord(id);
+        return ResponseEntity.ok(ApiResponse.success("Record restored successfully"));
+    }
+    
+    @PostMapping("/backups/run")
+    public ResponseEntity<ApiResponse> runBackup() {
+        Map<String, Object> result = databaseBackupService.runBackup();
+        return ResponseEntity.ok(ApiResponse.success("Database backup completed", result));
+    }
+    
+    @GetMapping("/backups/status")
+    public ResponseEntity<Map<String, Object>> getBackupStatus() {
+        return ResponseEntity.ok(databaseBackupService.getStatus());
+    }
+    
+    @GetMapping("/audit/pipeline")
+    public ResponseEntity<Map<String, Object>> getAuditPipelineStats() {
+        return ResponseEntity.ok(auditLogWriter.getStats());
+    }
+    
+    @GetMapping("/audit/logs")
+    public ResponseEntity<Map<String, Object>> getAuditLogs(
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) String tableName,
+            @RequestParam(required = false) Long recordId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(auditLogService.findEntries(userId, tableName, recordId, from, to, cursor, limit));
+    }
+    
+    @GetMapping("/audit/summaries")
+    public ResponseEntity<List<Map<String, Object>>> getAuditSummaries(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Long userId) {
+        return ResponseEntity.ok(auditLogService.getSummaries(from, to, userId));
+    }
+    
+    @PostMapping("/audit/retention/run")
+    public ResponseEntity<ApiResponse> runAuditRetention() {
+        Map<String, Object> result = auditLogService.compact();
+        return ResponseEntity.ok(ApiResponse.success("Audit retention completed", result));
+    }
+    
+    @PostMapping("/duplicates/scan")
+    public ResponseEntity<ApiResponse> scanDuplicates() {
+        Map<String, Object> report = duplicateDetectionService.scan();
+        return ResponseEntity.ok(ApiResponse.success("Duplicate scan completed", report));
+    }
+    
+    @GetMapping("/duplicates")
+    public ResponseEntity<Map<String, Object>> getDuplicateReport() {
+        return ResponseEntity.ok(duplicateDetectionService.getStatus());
+    }
+    
+    @PostMapping("/duplicates/merge")
+    public ResponseEntity<ApiResponse> mergeDuplicates(@RequestBody MergeRecordsRequest request) {
+        InsuranceRecord record = duplicateDetectionService.mergeRecords(request.getSurvivorId(), request.getDuplicateIds());
+        return ResponseEntity.ok(ApiResponse.success("Records merged successfully", record));
+    }
+    
+    @GetMapping("/admission")
+    public ResponseEntity<Map<String, Object>> getAdmissionStatus() {
+        return ResponseEntity.ok(admissionControlFilter.getStatus());
+    }
+    
+    // tokenId is the token's jti claim
+    @PostMapping("/tokens/{tokenId}/revoke")
+    public ResponseEntity<ApiResponse> revokeToken(@PathVariable String tokenId) {
+        tokenRevocationService.revokeTokenId(tokenId);
+        return ResponseEntity.ok(ApiResponse.success("Token revoked"));
+    }
+    
+    @PostMapping("/users/{id}/revoke-tokens")
+    public ResponseEntity<ApiResponse> revokeUserTokens(@PathVariable Long id) {
+        tokenRevocationService.revokeAllForUser(id);
+        return ResponseEntity.ok(ApiResponse.success("All tokens of the user revoked"));
+    }
+    
+    @GetMapping("/sql/statements")
+    public ResponseEntity<List<Map<String, Object>>> getTopStatements(
+            @RequestParam(required = false, defaultValue = "max") String sort,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(sqlStatementProfiler.getTopStatements(sort, limit));
+    }
+    
+    @DeleteMapping("/sql/statements")
+    public ResponseEntity<ApiResponse> resetStatementStats() {
+        sqlStatementProfiler.reset();
+        return ResponseEntity.ok(ApiResponse.success("Statement statistics reset"));
+    }
 }
-
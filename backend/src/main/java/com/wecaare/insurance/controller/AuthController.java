@@ -4,7 +4,9 @@ import com.wecaare.insurance.dto.ApiResponse;
 import com.wecaare.insurance.dto.LoginRequest;
 import com.wecaare.insurance.dto.LoginResponse;
 import com.wecaare.insurance.dto.UserDTO;
+import com.wecaare.insurance.security.JwtAuthenticationFilter;
 import com.wecaare.insurance.service.AuthService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -18,8 +20,10 @@ public class AuthController {
     private final AuthService authService;
     
     @PostMapping("/login")
-    public ResponseEntity<LoginResponse> login(@Valid @RequestBody LoginRequest loginRequest) {
-        LoginResponse response = authService.login(loginRequest);
+    public ResponseEntity<LoginResponse> login(@Valid @RequestBody LoginRequest loginRequest,
+                                               HttpServletRequest request) {
+        // Behind nginx this is the client, taken from X-Forwarded-For (server.forward-headers-strategy)
+        LoginResponse response = authService.login(loginRequest, request.getRemoteAddr());
         return ResponseEntity.ok(response);
     }
     
@@ -30,7 +34,8 @@ public class AuthController {
     }
     
     @PostMapping("/logout")
-    public ResponseEntity<ApiResponse> logout() {
+    public ResponseEntity<ApiResponse> logout(HttpServletRequest request) {
+        authService.logout(JwtAuthenticationFilter.getJwtFromRequest(request));
         return ResponseEntity.ok(ApiResponse.success("Logged out successfully"));
     }
 }
@@ -0,0 +1,20 @@
+package com.wecaare.insurance.controller;
+
+import com.wecaare.insurance.service.CustomerService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/customers")
+@RequiredArgsConstructor
+public class CustomerController {
+
+    private final CustomerService customerService;
+
+    @GetMapping("/{phoneNumber}")
+    public ResponseEntity<Map<String, Object>> getCustomer(@PathVariable String phoneNumber) {
+        return ResponseEntity.ok(customerService.getCustomer(phoneNumber));
+    }
+}
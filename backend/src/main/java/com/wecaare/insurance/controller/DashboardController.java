@@ -0,0 +1,36 @@
+package com.wecaare.insurance.controller;
+
+import com.wecaare.insurance.service.DashboardService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import java.util.*;
+
+@RestController
+@RequestMapping("/dashboard")
+@RequiredArgsConstructor
+public class DashboardController {
+    
+    private static final Set<String> ALL_WIDGETS = Set.of(
+        DashboardService.POLICIES_COUNT,
+        DashboardService.MONTHLY_PERFORMANCE,
+        DashboardService.EXPIRING_POLICIES,
+        DashboardService.FINANCIAL_SUMMARY);
+    
+    private final DashboardService dashboardService;
+    
+    // One round trip for the dashboard; widgets= limits it to a comma-separated subset
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> getDashboard(
+            @RequestParam(required = false) Set<String> widgets,
+            @RequestParam(defaultValue = "#{T(java.time.Year).now().getValue()}") int year,
+            @RequestParam(defaultValue = "30") int days,
+            Authentication authentication) {
+        
+        boolean admin = authentication.getAuthorities().stream()
+            .anyMatch(authority -> "ROLE_ADMIN".equals(authority.getAuthority()));
+        Set<String> requested = widgets == null || widgets.isEmpty() ? ALL_WIDGETS : widgets;
+        return ResponseEntity.ok(dashboardService.getDashboard(requested, admin, year, days));
+    }
+}
@@ -1,5 +1,9 @@
 package com.wecaare.insurance.controller;
 
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -8,16 +12,21 @@ import java.util.HashMap;
 import java.util.Map;
 
 @RestController
+@RequiredArgsConstructor
 public class HealthController {
     
+    private final HealthEndpoint healthEndpoint;
+    
+    // Same response shape as before, but backed by the Actuator health indicators (database, disk space)
     @GetMapping("/health")
     public ResponseEntity<Map<String, Object>> health() {
+        boolean up = Status.UP.equals(healthEndpoint.health().getStatus());
+        
         Map<String, Object> response = new HashMap<>();
-        response.put("status", "healthy");
+        response.put("status", up ? "healthy" : "unhealthy");
         response.put("timestamp", LocalDateTime.now());
         response.put("application", "WeCare Insurance Portal");
         response.put("version", "2.0.0-springboot");
-        return ResponseEntity.ok(response);
+        return ResponseEntity.status(up ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE).body(response);
     }
 }
-
@@ -2,12 +2,12 @@ package com.wecaare.insurance.controller;
 
 import com.wecaare.insurance.dto.ApiResponse;
 import com.wecaare.insurance.dto.InsuranceRecordRequest;
+import com.wecaare.insurance.dto.RecordListResponse;
 import com.wecaare.insurance.model.InsuranceRecord;
 import com.wecaare.insurance.service.InsuranceRecordService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -25,7 +25,7 @@ public class InsuranceRecordController {
     }
     
     @GetMapping
-    public ResponseEntity<Map<String, Object>> getAllRecords(
+    public ResponseEntity<RecordListResponse> getAllRecords(
             @RequestParam(required = false) String search,
             @RequestParam(defaultValue = "1") int page,
             @RequestParam(defaultValue = "10000") int limit) {
@@ -34,13 +34,7 @@ public class InsuranceRecordController {
             ? insuranceRecordService.searchRecords(search)
             : insuranceRecordService.getAllRecords();
         
-        Map<String, Object> response = new HashMap<>();
-        response.put("records", records);
-        response.put("total", records.size());
-        response.put("page", page);
-        response.put("limit", limit);
-        
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(new RecordListResponse(records, records.size(), page, limit, null));
     }
     
     @GetMapping("/{id}")
@@ -50,19 +44,14 @@ public class InsuranceRecordController {
     }
     
     @GetMapping("/expiring")
-    public ResponseEntity<Map<String, Object>> getExpiringPolicies(
+    public ResponseEntity<RecordListResponse> getExpiringPolicies(
             @RequestParam(defaultValue = "30") Integer days) {
         
         List<Map<String, Object>> records = insuranceRecordService.getExpiringPolicies(days);
         
-        Map<String, Object> response = new HashMap<>();
-        response.put("records", records);
-        response.put("total", records.size());
-        response.put("dateRange", Map.of(
+        return ResponseEntity.ok(new RecordListResponse(records, records.size(), null, null, Map.of(
             "days", days
-        ));
-        
-        return ResponseEntity.ok(response);
+        )));
     }
     
     @PutMapping("/{id}")
@@ -0,0 +1,10 @@
+package com.wecaare.insurance.dto;
+
+import lombok.Data;
+import java.util.List;
+
+@Data
+public class MergeRecordsRequest {
+    private Long survivorId;
+    private List<Long> duplicateIds;
+}
@@ -0,0 +1,18 @@
+package com.wecaare.insurance.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import java.util.List;
+import java.util.Map;
+
+// Body of the record list endpoints (/insurance-records and /insurance-records/expiring), the only
+// responses that can also be written in the columnar formats (see ColumnarRecordsHttpMessageConverter)
+@Data
+@AllArgsConstructor
+public class RecordListResponse {
+    private List<?> records;
+    private int total;
+    private Integer page;
+    private Integer limit;
+    private Map<String, Object> dateRange;
+}
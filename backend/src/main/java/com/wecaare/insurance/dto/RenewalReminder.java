@@ -0,0 +1,18 @@
+package com.wecaare.insurance.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RenewalReminder {
+    private Long recordId;
+    private String customerName;
+    private String phoneNumber;
+    private String vehicleNumber;
+    private String company;
+    private LocalDate expiryDate;
+}
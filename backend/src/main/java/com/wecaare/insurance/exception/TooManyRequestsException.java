@@ -0,0 +1,15 @@
+package com.wecaare.insurance.exception;
+
+import lombok.Getter;
+
+// Thrown when a request is rejected by rate limiting or admission control (mapped to HTTP 429)
+@Getter
+public class TooManyRequestsException extends RuntimeException {
+    
+    private final long retryAfterSeconds;
+    
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
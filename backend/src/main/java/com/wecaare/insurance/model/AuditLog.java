@@ -17,7 +17,7 @@ public class AuditLog {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     
-    @Column(name = "user_id", nullable = false)
+    @Column(name = "user_id")
     private Long userId;
     
     @Column(nullable = false)
@@ -29,8 +29,11 @@ public class AuditLog {
     @Column(name = "record_id")
     private Long recordId;
     
-    @Column(columnDefinition = "TEXT")
-    private String changes;
+    @Column(name = "old_values", columnDefinition = "TEXT")
+    private String oldValues;
+    
+    @Column(name = "new_values", columnDefinition = "TEXT")
+    private String newValues;
     
     @Column(name = "ip_address")
     private String ipAddress;
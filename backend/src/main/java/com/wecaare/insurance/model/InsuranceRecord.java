@@ -1,14 +1,19 @@
 package com.wecaare.insurance.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "insuranceRecords")
 @Table(name = "insurance_records")
 @Data
 @NoArgsConstructor
@@ -29,6 +34,11 @@ public class InsuranceRecord {
     @Column(name = "phone_number")
     private String phoneNumber;
     
+    // Lookup key for the customer view (RecordKeys.phone), kept in step with phoneNumber by every write
+    @JsonIgnore
+    @Column(name = "normalized_phone")
+    private String normalizedPhone;
+    
     @Column(name = "vehicle_number")
     private String vehicleNumber;
     
@@ -0,0 +1,52 @@
+package com.wecaare.insurance.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "job_checkpoints")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobCheckpoint {
+    
+    public static final String STATUS_RUNNING = "RUNNING";
+    public static final String STATUS_COMPLETED = "COMPLETED";
+    public static final String STATUS_FAILED = "FAILED";
+    
+    @Id
+    @Column(name = "job_name")
+    private String jobName;
+    
+    // Identifies one logical run (e.g. the run date); a crashed run resumes only within the same key
+    @Column(name = "run_key")
+    private String runKey;
+    
+    // Record id of the last committed row
+    @Column(name = "last_record_id")
+    private Long lastRecordId;
+    
+    // Sort column value of the last committed row, for jobs that scan in (sort key, id) order
+    @Column(name = "last_sort_key")
+    private String lastSortKey;
+    
+    private String status;
+    
+    @Column(name = "processed_count")
+    private Long processedCount;
+    
+    @Column(name = "failed_count")
+    private Long failedCount;
+    
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        updatedAt = LocalDateTime.now();
+    }
+}
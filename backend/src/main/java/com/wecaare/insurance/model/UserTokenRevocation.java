@@ -0,0 +1,23 @@
+package com.wecaare.insurance.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "user_token_revocations")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserTokenRevocation {
+    
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+    
+    // Every token of the user issued at or before this moment is revoked
+    @Column(name = "revoked_before", nullable = false)
+    private LocalDateTime revokedBefore;
+}
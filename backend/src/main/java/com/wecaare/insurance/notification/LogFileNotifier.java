@@ -0,0 +1,51 @@
+package com.wecaare.insurance.notification;
+
+import com.wecaare.insurance.dto.RenewalReminder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+
+// Local stand-in for a real gateway: appends one line per reminder to a file
+@Component
+@ConditionalOnProperty(name = "renewal.reminder.notifier", havingValue = "log", matchIfMissing = true)
+@Slf4j
+public class LogFileNotifier implements Notifier {
+    
+    @Value("${renewal.reminder.log-file:./database/renewal-reminders.log}")
+    private String logFile;
+    
+    @Override
+    public String getChannel() {
+        return "log";
+    }
+    
+    @Override
+    public void send(RenewalReminder reminder) throws IOException {
+        String line = String.format("%s\t%d\t%s\t%s\t%s\t%s\t%s%n",
+            LocalDateTime.now(),
+            reminder.getRecordId(),
+            reminder.getCustomerName(),
+            reminder.getPhoneNumber(),
+            reminder.getVehicleNumber(),
+            reminder.getCompany(),
+            reminder.getExpiryDate());
+        
+        Path path = Paths.get(logFile);
+        synchronized (this) {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            Files.writeString(path, line, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        }
+        log.debug("Renewal reminder logged for record {}", reminder.getRecordId());
+    }
+}
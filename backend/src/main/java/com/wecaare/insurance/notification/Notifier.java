@@ -0,0 +1,14 @@
+package com.wecaare.insurance.notification;
+
+import com.wecaare.insurance.dto.RenewalReminder;
+
+// Delivery channel for renewal reminders (SMS, WhatsApp, email, ...).
+// Implementations must be thread-safe: the reminder job calls send() from several worker threads.
+public interface Notifier {
+    
+    // Short channel name, recorded in notified_notes
+    String getChannel();
+    
+    // Throw to signal a failed delivery; the record stays pending and is retried on the next run
+    void send(RenewalReminder reminder) throws Exception;
+}
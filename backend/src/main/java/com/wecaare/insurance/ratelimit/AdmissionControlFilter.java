@@ -0,0 +1,222 @@
+package com.wecaare.insurance.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.wecaare.insurance.dto.ApiResponse;
+import com.wecaare.insurance.security.UserDetailsImpl;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.Semaphore;
+
+// Admission control for the endpoints that scan the whole records table, and the dashboard that bundles them.
+// Each route has a cap on requests running at once (across all users) and a token bucket per user; anything
+// over either is rejected straight away with 429 and Retry-After instead of queueing, so cheap endpoints keep
+// their threads and connections during a spike. Runs right after JwtAuthenticationFilter, once the user is known.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${admission.enabled:true}")
+    private boolean enabled;
+
+    @Value("${admission.export.max-concurrent:1}")
+    private int exportMaxConcurrent;
+
+    @Value("${admission.export.burst:2}")
+    private int exportBurst;
+
+    @Value("${admission.export.per-minute:4}")
+    private int exportPerMinute;
+
+    @Value("${admission.search.max-concurrent:4}")
+    private int searchMaxConcurrent;
+
+    @Value("${admission.search.burst:10}")
+    private int searchBurst;
+
+    @Value("${admission.search.per-minute:60}")
+    private int searchPerMinute;
+
+    @Value("${admission.analytics.max-concurrent:2}")
+    private int analyticsMaxConcurrent;
+
+    @Value("${admission.analytics.burst:10}")
+    private int analyticsBurst;
+
+    @Value("${admission.analytics.per-minute:30}")
+    private int analyticsPerMinute;
+
+    @Value("${admission.financial-summary.max-concurrent:2}")
+    private int financialSummaryMaxConcurrent;
+
+    @Value("${admission.financial-summary.burst:5}")
+    private int financialSummaryBurst;
+
+    @Value("${admission.financial-summary.per-minute:20}")
+    private int financialSummaryPerMinute;
+
+    @Value("${admission.dashboard.max-concurrent:4}")
+    private int dashboardMaxConcurrent;
+
+    @Value("${admission.dashboard.burst:10}")
+    private int dashboardBurst;
+
+    @Value("${admission.dashboard.per-minute:30}")
+    private int dashboardPerMinute;
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private List<Route> routes;
+    private Cache<String, TokenBucket> buckets;
+
+    @PostConstruct
+    public void init() {
+        routes = List.of(
+            new Route("export", "/export/**", null, exportMaxConcurrent, exportBurst, exportPerMinute),
+            new Route("search", "/insurance-records", "search", searchMaxConcurrent, searchBurst, searchPerMinute),
+            new Route("analytics", "/analytics/**", null, analyticsMaxConcurrent, analyticsBurst, analyticsPerMinute),
+            new Route("financial-summary", "/admin/financial-summary", null,
+                financialSummaryMaxConcurrent, financialSummaryBurst, financialSummaryPerMinute),
+            new Route("dashboard", "/dashboard", null, dashboardMaxConcurrent, dashboardBurst, dashboardPerMinute));
+
+        // Idle buckets are full again after a few minutes, so they can simply be dropped
+        buckets = Caffeine.newBuilder()
+            .maximumSize(100_000)
+            .expireAfterAccess(Duration.ofMinutes(10))
+            .build();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        Route route = enabled ? match(request) : null;
+        String caller = currentCaller();
+        // Unauthenticated calls are left to the authorization rules, which reject them anyway
+        if (route == null || caller == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        if (!route.permits.tryAcquire()) {
+            reject(response, route, "concurrency", "Too many " + route.name + " requests in progress, please retry shortly", 1);
+            return;
+        }
+        try {
+            TokenBucket bucket = buckets.get(route.name + ":" + caller,
+                key -> new TokenBucket(route.burst, route.perMinute / 60d));
+            if (!bucket.tryConsume()) {
+                reject(response, route, "rate", "Too many " + route.name + " requests, please slow down",
+                    bucket.getRetryAfterSeconds());
+                return;
+            }
+            filterChain.doFilter(request, response);
+        } finally {
+            route.permits.release();
+        }
+    }
+
+    private Route match(HttpServletRequest request) {
+        if (!"GET".equals(request.getMethod())) {
+            return null;
+        }
+        String path = request.getServletPath();
+        for (Route route : routes) {
+            if (pathMatcher.match(route.pattern, path)
+                    && (route.requiredParam == null || StringUtils.hasText(request.getParameter(route.requiredParam)))) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    // Buckets are per account, not per login: a fresh token must not come with a fresh allowance
+    private static String currentCaller() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        if (authentication.getPrincipal() instanceof UserDetailsImpl
+                && ((UserDetailsImpl) authentication.getPrincipal()).getId() != null) {
+            return "user:" + ((UserDetailsImpl) authentication.getPrincipal()).getId();
+        }
+        return authentication.getName();
+    }
+
+    // Written here rather than via GlobalExceptionHandler, which only sees exceptions from controllers
+    private void reject(HttpServletResponse response, Route route, String reason, String message,
+                        long retryAfterSeconds) throws IOException {
+        Counter.builder("http.server.requests.rejected")
+            .tag("route", route.name)
+            .tag("reason", reason)
+            .register(meterRegistry)
+            .increment();
+        log.debug("Rejected {} request ({})", route.name, reason);
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, retryAfterSeconds)));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), ApiResponse.error(message));
+    }
+
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("enabled", enabled);
+        for (Route route : routes) {
+            Map<String, Object> limits = new HashMap<>();
+            limits.put("maxConcurrent", route.maxConcurrent);
+            limits.put("inFlight", route.maxConcurrent - route.permits.availablePermits());
+            limits.put("burst", route.burst);
+            limits.put("perMinute", route.perMinute);
+            status.put(route.name, limits);
+        }
+        return status;
+    }
+
+    private static class Route {
+        private final String name;
+        private final String pattern;
+        // Only requests carrying this parameter count (search is the record list with ?search=)
+        private final String requiredParam;
+        private final int maxConcurrent;
+        private final int burst;
+        private final int perMinute;
+        private final Semaphore permits;
+
+        Route(String name, String pattern, String requiredParam, int maxConcurrent, int burst, int perMinute) {
+            this.name = name;
+            this.pattern = pattern;
+            this.requiredParam = requiredParam;
+            this.maxConcurrent = Math.max(1, maxConcurrent);
+            this.burst = Math.max(1, burst);
+            this.perMinute = Math.max(1, perMinute);
+            this.permits = new Semaphore(this.maxConcurrent);
+        }
+    }
+}
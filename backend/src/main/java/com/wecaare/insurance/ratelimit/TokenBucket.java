@@ -0,0 +1,42 @@
+package com.wecaare.insurance.ratelimit;
+
+// Classic token bucket: holds up to capacity tokens and refills continuously at refillPerSecond
+public class TokenBucket {
+    
+    private final double capacity;
+    private final double refillPerNano;
+    private double tokens;
+    private long lastRefill;
+    
+    public TokenBucket(double capacity, double refillPerSecond) {
+        this.capacity = capacity;
+        this.refillPerNano = refillPerSecond / 1_000_000_000d;
+        this.tokens = capacity;
+        this.lastRefill = System.nanoTime();
+    }
+    
+    public synchronized boolean tryConsume() {
+        refill();
+        if (tokens >= 1) {
+            tokens -= 1;
+            return true;
+        }
+        return false;
+    }
+    
+    // Seconds until the next token is available (0 if one is available now)
+    public synchronized long getRetryAfterSeconds() {
+        refill();
+        if (tokens >= 1) {
+            return 0;
+        }
+        double nanos = (1 - tokens) / refillPerNano;
+        return Math.max(1, (long) Math.ceil(nanos / 1_000_000_000d));
+    }
+    
+    private void refill() {
+        long now = System.nanoTime();
+        tokens = Math.min(capacity, tokens + (now - lastRefill) * refillPerNano);
+        lastRefill = now;
+    }
+}
@@ -2,57 +2,45 @@ package com.wecaare.insurance.repository;
 
 import com.wecaare.insurance.model.InsuranceRecord;
 import org.springframework.data.jpa.repository.JpaRepository;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
+// Listing and search live in InsuranceRecordRepositoryCustom: their ORDER BY differs per database
 @Repository
-public interface InsuranceRecordRepository extends JpaRepository<InsuranceRecord, Long> {
+public interface InsuranceRecordRepository extends JpaRepository<InsuranceRecord, Long>, InsuranceRecordRepositoryCustom {
     
-    // Find all non-deleted records, sorted by most recently updated first (using native query for SQLite compatibility)
-    // Handle both integer timestamps and string datetimes by converting to comparable format
-    // Sort by updated_at DESC (most recent first), then id DESC (higher IDs = newer records) to break ties
-    @Query(value = "SELECT * FROM insurance_records WHERE deleted_at IS NULL " +
-           "ORDER BY CASE " +
-           "  WHEN typeof(updated_at) = 'integer' THEN datetime(updated_at/1000, 'unixepoch') " +
-           "  WHEN typeof(updated_at) = 'text' THEN updated_at " +
-           "  ELSE '1970-01-01 00:00:00' " +
-           "END DESC, id DESC", nativeQuery = true)
-    List<InsuranceRecord> findByDeletedAtIsNullOrderByUpdatedAtDesc();
-    
-    // Find records by search term (name, phone, vehicle), sorted by most recently updated first (using native query for SQLite compatibility)
-    // Handle both integer timestamps and string datetimes by converting to comparable format
-    // Sort by updated_at DESC, then by id DESC to break ties
-    @Query(value = "SELECT * FROM insurance_records WHERE deleted_at IS NULL AND " +
-           "(LOWER(customer_name) LIKE LOWER('%' || :search || '%') OR " +
-           "LOWER(phone_number) LIKE LOWER('%' || :search || '%') OR " +
-           "LOWER(vehicle_number) LIKE LOWER('%' || :search || '%')) " +
-           "ORDER BY CASE " +
-           "  WHEN typeof(updated_at) = 'integer' THEN datetime(updated_at/1000, 'unixepoch') " +
-           "  WHEN typeof(updated_at) = 'text' THEN updated_at " +
-           "  ELSE '1970-01-01 00:00:00' " +
-           "END DESC, id DESC", nativeQuery = true)
-    List<InsuranceRecord> searchRecords(@Param("search") String search);
+    // Results of queries carrying this hint are kept in the Hibernate query cache and invalidated
+    // whenever insurance_records is written through Hibernate (see RecordCacheInvalidator for JDBC writes)
+    String CACHEABLE_HINT = "org.hibernate.cacheable";
     
     // Find expiring policies within date range (using native query for better SQLite compatibility)
     @Query(value = "SELECT * FROM insurance_records WHERE deleted_at IS NULL AND " +
            "expiry_date IS NOT NULL AND expiry_date >= :startDate AND expiry_date <= :endDate " +
            "ORDER BY expiry_date ASC", nativeQuery = true)
+    @QueryHints(@QueryHint(name = CACHEABLE_HINT, value = "true"))
     List<InsuranceRecord> findExpiringPolicies(@Param("startDate") String startDate, 
                                                @Param("endDate") String endDate);
     
     // Count records by year and month (for analytics)
+    @QueryHints(@QueryHint(name = CACHEABLE_HINT, value = "true"))
     @Query("SELECT MONTH(ir.policyStartDate), COUNT(ir) FROM InsuranceRecord ir " +
            "WHERE ir.deletedAt IS NULL AND YEAR(ir.policyStartDate) = :year " +
            "GROUP BY MONTH(ir.policyStartDate)")
     List<Object[]> countByYearAndMonth(@Param("year") int year);
     
     // Count all non-deleted records
+    @QueryHints(@QueryHint(name = CACHEABLE_HINT, value = "true"))
     long countByDeletedAtIsNull();
     
+    // All live policies of one customer, served by idx_live_records_customer_phone (V6 migration)
+    List<InsuranceRecord> findByNormalizedPhoneAndDeletedAtIsNull(String normalizedPhone);
+    
     // Find record by UUID
     Optional<InsuranceRecord> findByUuid(String uuid);
 }
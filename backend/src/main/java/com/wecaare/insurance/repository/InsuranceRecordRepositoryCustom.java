@@ -0,0 +1,14 @@
+package com.wecaare.insurance.repository;
+
+import com.wecaare.insurance.model.InsuranceRecord;
+import java.util.List;
+
+// Queries whose SQL differs between SQLite and PostgreSQL (see InsuranceRecordRepositoryCustomImpl)
+public interface InsuranceRecordRepositoryCustom {
+    
+    // All non-deleted records, most recently updated first
+    List<InsuranceRecord> findByDeletedAtIsNullOrderByUpdatedAtDesc();
+    
+    // Non-deleted records whose name, phone or vehicle contains the search term, most recently updated first
+    List<InsuranceRecord> searchRecords(String search);
+}
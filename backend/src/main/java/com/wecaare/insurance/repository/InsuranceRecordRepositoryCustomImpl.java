@@ -0,0 +1,60 @@
+package com.wecaare.insurance.repository;
+
+import com.wecaare.insurance.model.InsuranceRecord;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import java.util.List;
+
+// Listing and search sort newest first, in the order of that database's idx_live_records_updated (V3
+// migration) so rows come out of the index already sorted. SQLite holds updated_at as epoch millis or
+// text depending on who wrote the row and sorts on an expression that normalises both; PostgreSQL has
+// a real timestamp column.
+public class InsuranceRecordRepositoryCustomImpl implements InsuranceRecordRepositoryCustom {
+    
+    // The ORDER BY expression must stay identical to the one in the SQLite idx_live_records_updated
+    private static final String SQLITE_ORDER_BY_LATEST_UPDATE = "ORDER BY CASE " +
+           "  WHEN typeof(updated_at) = 'integer' THEN datetime(updated_at/1000, 'unixepoch') " +
+           "  WHEN typeof(updated_at) = 'text' THEN updated_at " +
+           "  ELSE '1970-01-01 00:00:00' " +
+           "END DESC, id DESC";
+    
+    private static final String POSTGRES_ORDER_BY_LATEST_UPDATE = "ORDER BY updated_at DESC, id DESC";
+    
+    private static final String FIND_LIVE_RECORDS_SQL = "SELECT * FROM insurance_records WHERE deleted_at IS NULL ";
+    
+    private static final String SEARCH_RECORDS_SQL = "SELECT * FROM insurance_records WHERE deleted_at IS NULL AND " +
+           "(LOWER(customer_name) LIKE LOWER('%' || :search || '%') OR " +
+           "LOWER(phone_number) LIKE LOWER('%' || :search || '%') OR " +
+           "LOWER(vehicle_number) LIKE LOWER('%' || :search || '%')) ";
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    private volatile String orderByLatestUpdate;
+    
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<InsuranceRecord> findByDeletedAtIsNullOrderByUpdatedAtDesc() {
+        return entityManager.createNativeQuery(FIND_LIVE_RECORDS_SQL + orderByLatestUpdate(), InsuranceRecord.class)
+            .getResultList();
+    }
+    
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<InsuranceRecord> searchRecords(String search) {
+        return entityManager.createNativeQuery(SEARCH_RECORDS_SQL + orderByLatestUpdate(), InsuranceRecord.class)
+            .setParameter("search", search)
+            .getResultList();
+    }
+    
+    private String orderByLatestUpdate() {
+        if (orderByLatestUpdate == null) {
+            boolean postgres = entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect() instanceof PostgreSQLDialect;
+            orderByLatestUpdate = postgres ? POSTGRES_ORDER_BY_LATEST_UPDATE : SQLITE_ORDER_BY_LATEST_UPDATE;
+        }
+        return orderByLatestUpdate;
+    }
+}
@@ -0,0 +1,9 @@
+package com.wecaare.insurance.repository;
+
+import com.wecaare.insurance.model.JobCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface JobCheckpointRepository extends JpaRepository<JobCheckpoint, String> {
+}
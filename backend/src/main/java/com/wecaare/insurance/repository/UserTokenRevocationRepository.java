@@ -0,0 +1,20 @@
+package com.wecaare.insurance.repository;
+
+import com.wecaare.insurance.model.UserTokenRevocation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDateTime;
+
+@Repository
+public interface UserTokenRevocationRepository extends JpaRepository<UserTokenRevocation, Long> {
+    
+    // Rows older than the longest token lifetime only cover tokens that have expired anyway
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM UserTokenRevocation r WHERE r.revokedBefore <= :cutoff")
+    int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,47 @@
+package com.wecaare.insurance.security;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Minimal thread-safe Bloom filter over hex SHA-256 strings.
+// The inputs are already uniformly distributed hashes, so the k probe positions are derived
+// from two 64-bit slices of the digest by double hashing instead of re-hashing the key.
+public class BloomFilter {
+    
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+    
+    public BloomFilter(long expectedInsertions, double falsePositiveRate) {
+        long n = Math.max(1, expectedInsertions);
+        long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.bitCount = Math.max(64, m);
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+        this.bits = new AtomicLongArray((int) ((bitCount + 63) / 64));
+    }
+    
+    public void put(String hexHash) {
+        long h1 = Long.parseUnsignedLong(hexHash.substring(0, 16), 16);
+        long h2 = Long.parseUnsignedLong(hexHash.substring(16, 32), 16);
+        for (int i = 0; i < hashCount; i++) {
+            long index = Math.floorMod(h1 + i * h2, bitCount);
+            int word = (int) (index >>> 6);
+            long mask = 1L << (index & 63);
+            long current;
+            do {
+                current = bits.get(word);
+            } while ((current & mask) == 0 && !bits.compareAndSet(word, current, current | mask));
+        }
+    }
+    
+    public boolean mightContain(String hexHash) {
+        long h1 = Long.parseUnsignedLong(hexHash.substring(0, 16), 16);
+        long h2 = Long.parseUnsignedLong(hexHash.substring(16, 32), 16);
+        for (int i = 0; i < hashCount; i++) {
+            long index = Math.floorMod(h1 + i * h2, bitCount);
+            if ((bits.get((int) (index >>> 6)) & (1L << (index & 63))) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -2,15 +2,24 @@ package com.wecaare.insurance.security;
 
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Date;
+import java.util.HexFormat;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 @Component
-public class JwtTokenProvider {
+public class JwtTokenProvider implements MeterBinder {
     
     @Value("${jwt.secret}")
     private String jwtSecret;
@@ -18,45 +27,89 @@ public class JwtTokenProvider {
     @Value("${jwt.expiration}")
     private long jwtExpirationMs;
     
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = jwtSecret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+    // Key and parser are immutable and thread-safe, so build them once instead of per request
+    private SecretKey signingKey;
+    private JwtParser jwtParser;
+    
+    private volatile Timer validVerifyTimer;
+    private volatile Timer invalidVerifyTimer;
+    
+    @PostConstruct
+    public void init() {
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        jwtParser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
     }
     
     public String generateToken(Authentication authentication) {
         UserDetailsImpl userPrincipal = (UserDetailsImpl) authentication.getPrincipal();
         
         return Jwts.builder()
+                .id(UUID.randomUUID().toString())
                 .subject(userPrincipal.getUsername())
                 .claim("id", userPrincipal.getId())
                 .claim("role", userPrincipal.getRole())
                 .issuedAt(new Date())
                 .expiration(new Date(System.currentTimeMillis() + jwtExpirationMs))
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
     
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        validVerifyTimer = Timer.builder("jwt.verify").tag("outcome", "valid")
+            .description("JWT signature and claims verification")
+            .publishPercentileHistogram()
+            .register(registry);
+        invalidVerifyTimer = Timer.builder("jwt.verify").tag("outcome", "invalid")
+            .description("JWT signature and claims verification")
+            .publishPercentileHistogram()
+            .register(registry);
+    }
+    
+    // Verifies the signature and expiry once and returns the claims, or null if the token is invalid
+    public Claims parseClaims(String token) {
+        long start = System.nanoTime();
+        Claims claims;
+        try {
+            claims = jwtParser.parseSignedClaims(token).getPayload();
+        } catch (JwtException | IllegalArgumentException e) {
+            claims = null;
+        }
+        Timer timer = claims != null ? validVerifyTimer : invalidVerifyTimer;
+        if (timer != null) {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        return claims;
+    }
+    
+    // Builds the principal straight from the verified claims, without a users table lookup
+    public UserDetailsImpl getUserDetails(Claims claims) {
+        Object id = claims.get("id");
+        String role = claims.get("role", String.class);
+        if (!(id instanceof Number) || role == null) {
+            return null;
+        }
+        Long issuedAt = claims.getIssuedAt() != null ? claims.getIssuedAt().getTime() : null;
+        return new UserDetailsImpl(((Number) id).longValue(), claims.getSubject(), null, role, claims.getId(), issuedAt);
+    }
+    
     public String getUsernameFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-        
-        return claims.getSubject();
+        return jwtParser.parseSignedClaims(token).getPayload().getSubject();
     }
     
     public boolean validateToken(String token) {
+        return parseClaims(token) != null;
+    }
+    
+    // Stable identifier for a token (hex SHA-256), used as cache and revocation key so raw tokens are never stored
+    public static String hashToken(String token) {
         try {
-            Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token);
-            return true;
-        } catch (JwtException | IllegalArgumentException e) {
-            // Log error if needed
-            return false;
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
         }
     }
 }
-
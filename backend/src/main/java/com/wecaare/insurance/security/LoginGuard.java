@@ -0,0 +1,106 @@
+package com.wecaare.insurance.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.wecaare.insurance.exception.TooManyRequestsException;
+import com.wecaare.insurance.ratelimit.TokenBucket;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import java.time.Duration;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Keeps BCrypt-heavy logins off the Tomcat request pool: attempts are throttled per username
+// and per client IP, then run on a small dedicated executor that rejects fast once its queue is full.
+@Component
+@Slf4j
+public class LoginGuard {
+    
+    @Value("${login.executor.threads:2}")
+    private int threads;
+    
+    @Value("${login.executor.queue-size:20}")
+    private int queueSize;
+    
+    @Value("${login.executor.timeout-ms:5000}")
+    private long timeoutMs;
+    
+    @Value("${login.throttle.username.capacity:10}")
+    private int usernameCapacity;
+    
+    @Value("${login.throttle.username.per-minute:5}")
+    private int usernamePerMinute;
+    
+    @Value("${login.throttle.ip.capacity:30}")
+    private int ipCapacity;
+    
+    @Value("${login.throttle.ip.per-minute:20}")
+    private int ipPerMinute;
+    
+    private ThreadPoolExecutor executor;
+    private Cache<String, TokenBucket> buckets;
+    
+    @PostConstruct
+    public void init() {
+        AtomicInteger counter = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueSize),
+            runnable -> {
+                Thread thread = new Thread(runnable, "login-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+        
+        // Idle buckets are full again after a few minutes, so they can simply be dropped
+        buckets = Caffeine.newBuilder()
+            .maximumSize(100_000)
+            .expireAfterAccess(Duration.ofMinutes(10))
+            .build();
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+    
+    public <T> T execute(String username, String clientIp, Callable<T> login) {
+        acquire("user:" + (username != null ? username.trim().toLowerCase() : ""), usernameCapacity, usernamePerMinute);
+        acquire("ip:" + clientIp, ipCapacity, ipPerMinute);
+        
+        Future<T> future;
+        try {
+            future = executor.submit(login);
+        } catch (RejectedExecutionException e) {
+            log.warn("Login executor saturated, rejecting attempt for '{}' from {}", username, clientIp);
+            throw new TooManyRequestsException("Too many login attempts in progress, please retry shortly", 1);
+        }
+        
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new TooManyRequestsException("Login timed out, please retry shortly", 1);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Login interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException("Login failed: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+    
+    private void acquire(String key, int capacity, int perMinute) {
+        TokenBucket bucket = buckets.get(key, k -> new TokenBucket(capacity, perMinute / 60d));
+        if (!bucket.tryConsume()) {
+            throw new TooManyRequestsException("Too many login attempts, please try again later",
+                bucket.getRetryAfterSeconds());
+        }
+    }
+}
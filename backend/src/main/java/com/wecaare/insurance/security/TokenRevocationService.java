@@ -0,0 +1,154 @@
+package com.wecaare.insurance.security;
+
+import com.wecaare.insurance.model.RevokedToken;
+import com.wecaare.insurance.model.UserTokenRevocation;
+import com.wecaare.insurance.repository.RevokedTokenRepository;
+import com.wecaare.insurance.repository.UserRepository;
+import com.wecaare.insurance.repository.UserTokenRevocationRepository;
+import io.jsonwebtoken.Claims;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Revoked tokens are persisted in revoked_tokens; the request path only consults an in-memory
+// Bloom filter rebuilt from that table, and queries the table only on a Bloom positive.
+// Admins can also revoke a token by its id (jti), kept in the same table as the SHA-256 of the jti,
+// and every token of a user, kept as a per-user cutoff on the token's issue time held in memory in full.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TokenRevocationService {
+    
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final UserTokenRevocationRepository userTokenRevocationRepository;
+    private final UserRepository userRepository;
+    private final JwtTokenProvider tokenProvider;
+    private final VerifiedTokenCache tokenCache;
+    
+    @Value("${jwt.revocation.expected-entries:10000}")
+    private long expectedEntries;
+    
+    @Value("${jwt.revocation.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+    
+    @Value("${jwt.expiration}")
+    private long jwtExpirationMs;
+    
+    private final Object lock = new Object();
+    private volatile BloomFilter bloomFilter;
+    // user id -> epoch millis; the user's tokens issued at or before it are revoked
+    private volatile Map<Long, Long> userCutoffs = Map.of();
+    
+    @PostConstruct
+    public void init() {
+        rebuild();
+    }
+    
+    public boolean isRevoked(UserDetailsImpl principal, String tokenHash) {
+        Long cutoff = userCutoffs.get(principal.getId());
+        // iat has whole seconds only, so a token issued in the same second as the cutoff counts as revoked
+        if (cutoff != null && (principal.getIssuedAt() == null || principal.getIssuedAt() <= cutoff)) {
+            return true;
+        }
+        return isListed(tokenHash)
+            || (principal.getTokenId() != null && isListed(JwtTokenProvider.hashToken(principal.getTokenId())));
+    }
+    
+    private boolean isListed(String key) {
+        if (!bloomFilter.mightContain(key)) {
+            return false;
+        }
+        return revokedTokenRepository.existsById(key);
+    }
+    
+    public void revoke(String token) {
+        Claims claims = tokenProvider.parseClaims(token);
+        if (claims == null) {
+            // Already invalid or expired, nothing to revoke
+            return;
+        }
+        
+        String tokenHash = JwtTokenProvider.hashToken(token);
+        UserDetailsImpl principal = tokenProvider.getUserDetails(claims);
+        LocalDateTime expiresAt = LocalDateTime.ofInstant(claims.getExpiration().toInstant(), ZoneId.systemDefault());
+        
+        synchronized (lock) {
+            revokedTokenRepository.save(new RevokedToken(
+                tokenHash, principal != null ? principal.getId() : null, expiresAt, null));
+            bloomFilter.put(tokenHash);
+        }
+        tokenCache.invalidate(tokenHash);
+    }
+    
+    public void revokeTokenId(String tokenId) {
+        if (tokenId == null || tokenId.isBlank()) {
+            throw new RuntimeException("Token id is required");
+        }
+        String key = JwtTokenProvider.hashToken(tokenId);
+        // The token itself is not at hand, so the entry is kept for the longest a token can live
+        LocalDateTime expiresAt = LocalDateTime.now().plus(Duration.ofMillis(jwtExpirationMs));
+        synchronized (lock) {
+            revokedTokenRepository.save(new RevokedToken(key, null, expiresAt, null));
+            bloomFilter.put(key);
+        }
+    }
+    
+    // One write transaction: with the session held open for the request, a separate read-only lookup
+    // would leave it on a read-only connection for the save
+    @Transactional
+    public void revokeAllForUser(Long userId) {
+        if (!userRepository.existsById(userId)) {
+            throw new RuntimeException("User not found with id: " + userId);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        synchronized (lock) {
+            userTokenRevocationRepository.save(new UserTokenRevocation(userId, now));
+            Map<Long, Long> cutoffs = new HashMap<>(userCutoffs);
+            cutoffs.put(userId, toEpochMillis(now));
+            userCutoffs = cutoffs;
+        }
+    }
+    
+    // Picks up revocations made by other instances and drops expired entries from the filter
+    @Scheduled(fixedDelayString = "${jwt.revocation.rebuild-interval-ms:60000}",
+               initialDelayString = "${jwt.revocation.rebuild-interval-ms:60000}")
+    public void rebuild() {
+        synchronized (lock) {
+            List<String> hashes = revokedTokenRepository.findActiveTokenHashes(LocalDateTime.now());
+            BloomFilter filter = new BloomFilter(Math.max(expectedEntries, hashes.size() * 2L), falsePositiveRate);
+            hashes.forEach(filter::put);
+            bloomFilter = filter;
+            
+            Map<Long, Long> cutoffs = new HashMap<>();
+            for (UserTokenRevocation revocation : userTokenRevocationRepository.findAll()) {
+                cutoffs.put(revocation.getUserId(), toEpochMillis(revocation.getRevokedBefore()));
+            }
+            userCutoffs = cutoffs;
+            log.debug("Revocation Bloom filter rebuilt with {} entries, {} user cutoffs", hashes.size(), cutoffs.size());
+        }
+    }
+    
+    @Scheduled(cron = "${jwt.revocation.purge-cron:0 30 3 * * *}")
+    public void purgeExpired() {
+        int deleted = revokedTokenRepository.deleteExpired(LocalDateTime.now());
+        if (deleted > 0) {
+            log.info("Purged {} expired revoked tokens", deleted);
+        }
+        userTokenRevocationRepository.deleteOlderThan(LocalDateTime.now().minus(Duration.ofMillis(jwtExpirationMs)));
+        rebuild();
+    }
+    
+    private static long toEpochMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
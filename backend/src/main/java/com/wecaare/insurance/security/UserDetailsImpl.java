@@ -17,16 +17,28 @@ public class UserDetailsImpl implements UserDetails {
     private String username;
     private String password;
     private String role;
+    // jti of the token this principal was built from; null when authenticated by password
+    private String tokenId;
+    // iat of that token in epoch milliseconds (whole seconds); null when authenticated by password
+    private Long issuedAt;
     
     public static UserDetailsImpl build(User user) {
         return new UserDetailsImpl(
             user.getId(),
             user.getUsername(),
             user.getPassword(),
-            user.getRole()
+            user.getRole(),
+            null,
+            null
         );
     }
     
+    // One key per login: staff share accounts, so per-caller state is keyed by token rather than by
+    // username. Tokens issued before jti was added fall back to the username.
+    public String getSessionKey() {
+        return tokenId != null ? tokenId : username;
+    }
+    
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role.toUpperCase()));
@@ -0,0 +1,53 @@
+package com.wecaare.insurance.security;
+
+import com.wecaare.insurance.model.User;
+import com.wecaare.insurance.repository.UserRepository;
+import lombok.AllArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Short-lived cache of each user's current username and role.
+// A token whose claims no longer match (role changed, user renamed or removed) is rejected
+// within one TTL, while the users table is queried at most once per user per TTL.
+@Component
+@RequiredArgsConstructor
+public class UserRoleCache {
+    
+    private final UserRepository userRepository;
+    
+    @Value("${jwt.user-check-ttl-ms:60000}")
+    private long ttlMs;
+    
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    
+    public boolean isCurrent(UserDetailsImpl principal) {
+        long now = System.currentTimeMillis();
+        Entry entry = entries.get(principal.getId());
+        if (entry == null || entry.expiresAt < now) {
+            Optional<User> user = userRepository.findById(principal.getId());
+            entry = user
+                .map(u -> new Entry(u.getUsername(), u.getRole(), now + ttlMs))
+                .orElseGet(() -> new Entry(null, null, now + ttlMs));
+            entries.put(principal.getId(), entry);
+        }
+        return entry.username != null
+            && entry.username.equals(principal.getUsername())
+            && entry.role.equals(principal.getRole());
+    }
+    
+    // Call after changing a user's role or deleting a user to apply it immediately
+    public void evict(Long userId) {
+        entries.remove(userId);
+    }
+    
+    @AllArgsConstructor
+    private static class Entry {
+        private final String username;
+        private final String role;
+        private final long expiresAt;
+    }
+}
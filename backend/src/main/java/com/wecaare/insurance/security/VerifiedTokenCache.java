@@ -0,0 +1,111 @@
+package com.wecaare.insurance.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.AllArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Size-bounded cache of already verified tokens, so repeat calls with the same bearer token
+// skip JJWT parsing and signature verification. Entries are keyed by a SHA-256 of the token
+// (the raw token is never held) and expire no later than the token's own exp claim.
+@Component
+@RequiredArgsConstructor
+public class VerifiedTokenCache implements MeterBinder {
+    
+    private final JwtTokenProvider tokenProvider;
+    
+    @Value("${jwt.cache.max-size:10000}")
+    private long maxSize;
+    
+    @Value("${jwt.cache.max-ttl-ms:900000}")
+    private long maxTtlMs;
+    
+    private Cache<String, CachedPrincipal> cache;
+    
+    @PostConstruct
+    public void init() {
+        cache = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfter(new Expiry<String, CachedPrincipal>() {
+                @Override
+                public long expireAfterCreate(String key, CachedPrincipal value, long currentTime) {
+                    long remainingMs = Math.min(value.expiresAt - System.currentTimeMillis(), maxTtlMs);
+                    return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMs, 0));
+                }
+                
+                @Override
+                public long expireAfterUpdate(String key, CachedPrincipal value, long currentTime, long currentDuration) {
+                    return currentDuration;
+                }
+                
+                @Override
+                public long expireAfterRead(String key, CachedPrincipal value, long currentTime, long currentDuration) {
+                    return currentDuration;
+                }
+            })
+            .recordStats()
+            .build();
+    }
+    
+    // Returns the principal for a valid token, or null if the token is invalid or expired.
+    // tokenHash is JwtTokenProvider.hashToken(token), computed once by the caller.
+    public UserDetailsImpl resolve(String token, String tokenHash) {
+        CachedPrincipal cached = cache.getIfPresent(tokenHash);
+        if (cached != null && cached.expiresAt > System.currentTimeMillis()) {
+            return cached.principal;
+        }
+        
+        Claims claims = tokenProvider.parseClaims(token);
+        if (claims == null || claims.getExpiration() == null) {
+            return null;
+        }
+        UserDetailsImpl principal = tokenProvider.getUserDetails(claims);
+        if (principal != null) {
+            cache.put(tokenHash, new CachedPrincipal(principal, claims.getExpiration().getTime()));
+        }
+        return principal;
+    }
+    
+    public void invalidate(String tokenHash) {
+        cache.invalidate(tokenHash);
+    }
+    
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+    
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "jwt.verified-tokens");
+    }
+    
+    public Map<String, Object> getStats() {
+        CacheStats stats = cache.stats();
+        Map<String, Object> result = new HashMap<>();
+        result.put("size", cache.estimatedSize());
+        result.put("maxSize", maxSize);
+        result.put("hits", stats.hitCount());
+        result.put("misses", stats.missCount());
+        result.put("hitRate", stats.hitRate());
+        result.put("evictions", stats.evictionCount());
+        return result;
+    }
+    
+    @AllArgsConstructor
+    private static class CachedPrincipal {
+        private final UserDetailsImpl principal;
+        private final long expiresAt;
+    }
+}
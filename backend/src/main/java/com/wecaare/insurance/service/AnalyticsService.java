@@ -3,6 +3,7 @@ package com.wecaare.insurance.service;
 import com.wecaare.insurance.repository.InsuranceRecordRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import java.util.*;
 
 @Service
@@ -10,6 +11,7 @@ import java.util.*;
 public class AnalyticsService {
     
     private final InsuranceRecordRepository recordRepository;
+    private final SingleFlight singleFlight;
     
     private static final String[] MONTH_NAMES = {
         "Jan", "Feb", "Mar", "Apr", "May", "Jun",
@@ -17,6 +19,10 @@ public class AnalyticsService {
     };
     
     public Map<String, Object> getMonthlyPerformance(int year) {
+        return singleFlight.read("getMonthlyPerformance", () -> computeMonthlyPerformance(year), year);
+    }
+    
+    private Map<String, Object> computeMonthlyPerformance(int year) {
         List<Object[]> data = recordRepository.countByYearAndMonth(year);
         
         Map<Integer, Long> monthlyData = new HashMap<>();
@@ -48,6 +54,7 @@ public class AnalyticsService {
         return result;
     }
     
+    @Transactional(readOnly = true)
     public long getPoliciesCount() {
         return recordRepository.countByDeletedAtIsNull();
     }
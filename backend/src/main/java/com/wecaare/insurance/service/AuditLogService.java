@@ -0,0 +1,243 @@
+package com.wecaare.insurance.service;
+
+import com.wecaare.insurance.model.AuditLog;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AuditLogService {
+
+    private static final String SELECT_COLUMNS =
+        "SELECT id, user_id, action, table_name, record_id, old_values, new_values, ip_address, created_at FROM audit_logs";
+
+    private static final String SELECT_EXPIRED_SQL =
+        "SELECT id, user_id, table_name, action, created_at FROM audit_logs WHERE created_at < ? " +
+        "ORDER BY created_at LIMIT ?";
+
+    private static final String UPDATE_SUMMARY_SQL =
+        "UPDATE audit_log_summaries SET entry_count = entry_count + ? " +
+        "WHERE summary_date = ? AND user_id = ? AND table_name = ? AND action = ?";
+
+    private static final String INSERT_SUMMARY_SQL =
+        "INSERT INTO audit_log_summaries (entry_count, summary_date, user_id, table_name, action) VALUES (?, ?, ?, ?, ?)";
+
+    private static final RowMapper<AuditLog> AUDIT_LOG_MAPPER = (rs, rowNum) -> {
+        AuditLog entry = new AuditLog();
+        entry.setId(rs.getLong("id"));
+        entry.setUserId(getNullableLong(rs, "user_id"));
+        entry.setAction(rs.getString("action"));
+        entry.setTableName(rs.getString("table_name"));
+        entry.setRecordId(getNullableLong(rs, "record_id"));
+        entry.setOldValues(rs.getString("old_values"));
+        entry.setNewValues(rs.getString("new_values"));
+        entry.setIpAddress(rs.getString("ip_address"));
+        Timestamp createdAt = rs.getTimestamp("created_at");
+        entry.setCreatedAt(createdAt != null ? createdAt.toLocalDateTime() : null);
+        return entry;
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${audit.retention.enabled:true}")
+    private boolean retentionEnabled;
+
+    @Value("${audit.retention.days:365}")
+    private int retentionDays;
+
+    // summarize: keep daily counts per user/table/action before deleting; delete: just delete
+    @Value("${audit.retention.mode:summarize}")
+    private String retentionMode;
+
+    @Value("${audit.retention.batch-size:1000}")
+    private int retentionBatchSize;
+
+    private final AtomicBoolean compacting = new AtomicBoolean(false);
+
+    // Newest first, keyset-paginated over (created_at, id): pass the returned nextCursor to get the next page.
+    // Each filter combination is served in order by idx_audit_created, idx_audit_user or idx_audit_record.
+    @Transactional(readOnly = true)
+    public Map<String, Object> findEntries(Long userId, String tableName, Long recordId,
+                                           LocalDateTime from, LocalDateTime to, String cursor, Integer limit) {
+        int pageSize = limit != null ? Math.max(1, Math.min(limit, 500)) : 50;
+
+        StringBuilder sql = new StringBuilder(SELECT_COLUMNS).append(" WHERE 1 = 1");
+        List<Object> args = new ArrayList<>();
+        if (userId != null) {
+            sql.append(" AND user_id = ?");
+            args.add(userId);
+        }
+        if (recordId != null) {
+            sql.append(" AND table_name = ? AND record_id = ?");
+            args.add(tableName != null ? tableName : "insurance_records");
+            args.add(recordId);
+        } else if (tableName != null) {
+            sql.append(" AND table_name = ?");
+            args.add(tableName);
+        }
+        if (from != null) {
+            sql.append(" AND created_at >= ?");
+            args.add(Timestamp.valueOf(from));
+        }
+        if (to != null) {
+            sql.append(" AND created_at < ?");
+            args.add(Timestamp.valueOf(to));
+        }
+        if (cursor != null && !cursor.isBlank()) {
+            String[] parts = cursor.split(":");
+            try {
+                Timestamp createdAt = new Timestamp(Long.parseLong(parts[0]));
+                // Cursors handed out before the nanos part was added carry milliseconds only
+                if (parts.length > 2) {
+                    createdAt.setNanos(Integer.parseInt(parts[2]));
+                }
+                sql.append(" AND (created_at, id) < (?, ?)");
+                args.add(createdAt);
+                args.add(Long.parseLong(parts[1]));
+            } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+                // setNanos rejects values outside 0..999999999, parseLong malformed numbers
+                throw new RuntimeException("Invalid cursor: " + cursor);
+            }
+        }
+        sql.append(" ORDER BY created_at DESC, id DESC LIMIT ?");
+        args.add(pageSize);
+
+        List<AuditLog> entries = jdbcTemplate.query(sql.toString(), AUDIT_LOG_MAPPER, args.toArray());
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("entries", entries);
+        result.put("count", entries.size());
+        if (entries.size() == pageSize) {
+            // millis:id:nanos - PostgreSQL keeps microseconds, and a cursor cut to the millisecond would
+            // skip rows of the same millisecond that sort after it
+            AuditLog last = entries.get(entries.size() - 1);
+            Timestamp createdAt = Timestamp.valueOf(last.getCreatedAt());
+            result.put("nextCursor", createdAt.getTime() + ":" + last.getId() + ":" + createdAt.getNanos());
+        }
+        return result;
+    }
+
+    @Scheduled(cron = "${audit.retention.cron:0 15 3 * * *}")
+    public void scheduledCompaction() {
+        if (!retentionEnabled) {
+            return;
+        }
+        compact();
+    }
+
+    // Removes entries older than audit.retention.days oldest first, one batch per transaction
+    public Map<String, Object> compact() {
+        if (!compacting.compareAndSet(false, true)) {
+            throw new RuntimeException("Audit retention job is already running");
+        }
+        try {
+            long startedAt = System.currentTimeMillis();
+            Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now().minusDays(retentionDays));
+            boolean summarize = !"delete".equalsIgnoreCase(retentionMode);
+            // Stay below SQLite's limit of 999 bound parameters per statement
+            int limit = Math.max(1, Math.min(retentionBatchSize, 900));
+
+            long removed = 0;
+            while (true) {
+                Integer count = transactionTemplate.execute(status -> compactBatch(cutoff, limit, summarize));
+                if (count == null || count == 0) {
+                    break;
+                }
+                removed += count;
+                if (count < limit) {
+                    break;
+                }
+            }
+
+            long durationMs = System.currentTimeMillis() - startedAt;
+            if (removed > 0) {
+                log.info("Audit retention removed {} entries older than {} ({} ms)", removed, cutoff, durationMs);
+            }
+
+            Map<String, Object> result = new HashMap<>();
+            result.put("removed", removed);
+            result.put("summarized", summarize);
+            result.put("cutoff", cutoff.toLocalDateTime());
+            result.put("durationMs", durationMs);
+            return result;
+        } finally {
+            compacting.set(false);
+        }
+    }
+
+    private int compactBatch(Timestamp cutoff, int limit, boolean summarize) {
+        List<Long> ids = new ArrayList<>(limit);
+        Map<List<Object>, Long> counts = new HashMap<>();
+
+        jdbcTemplate.query(SELECT_EXPIRED_SQL, (RowCallbackHandler) rs -> {
+            ids.add(rs.getLong("id"));
+            Timestamp createdAt = rs.getTimestamp("created_at");
+            LocalDate day = createdAt != null ? createdAt.toLocalDateTime().toLocalDate() : LocalDate.EPOCH;
+            Long userId = getNullableLong(rs, "user_id");
+            String tableName = rs.getString("table_name");
+            List<Object> key = List.of(day.toString(), userId != null ? userId : 0L,
+                tableName != null ? tableName : "", rs.getString("action"));
+            counts.merge(key, 1L, Long::sum);
+        }, cutoff, limit);
+
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        if (summarize) {
+            for (Map.Entry<List<Object>, Long> entry : counts.entrySet()) {
+                List<Object> key = entry.getKey();
+                Object[] row = { entry.getValue(), key.get(0), key.get(1), key.get(2), key.get(3) };
+                if (jdbcTemplate.update(UPDATE_SUMMARY_SQL, row) == 0) {
+                    jdbcTemplate.update(INSERT_SUMMARY_SQL, row);
+                }
+            }
+        }
+
+        String placeholders = String.join(",", Collections.nCopies(ids.size(), "?"));
+        jdbcTemplate.update("DELETE FROM audit_logs WHERE id IN (" + placeholders + ")", ids.toArray());
+        return ids.size();
+    }
+
+    public List<Map<String, Object>> getSummaries(LocalDate from, LocalDate to, Long userId) {
+        StringBuilder sql = new StringBuilder(
+            "SELECT summary_date, user_id, table_name, action, entry_count FROM audit_log_summaries WHERE 1 = 1");
+        List<Object> args = new ArrayList<>();
+        if (from != null) {
+            sql.append(" AND summary_date >= ?");
+            args.add(from.toString());
+        }
+        if (to != null) {
+            sql.append(" AND summary_date <= ?");
+            args.add(to.toString());
+        }
+        if (userId != null) {
+            sql.append(" AND user_id = ?");
+            args.add(userId);
+        }
+        sql.append(" ORDER BY summary_date DESC, user_id, table_name, action");
+        return jdbcTemplate.queryForList(sql.toString(), args.toArray());
+    }
+
+    private static Long getNullableLong(ResultSet rs, String column) throws SQLException {
+        long value = rs.getLong(column);
+        return rs.wasNull() ? null : value;
+    }
+}
@@ -6,6 +6,8 @@ import com.wecaare.insurance.dto.UserDTO;
 import com.wecaare.insurance.model.User;
 import com.wecaare.insurance.repository.UserRepository;
 import com.wecaare.insurance.security.JwtTokenProvider;
+import com.wecaare.insurance.security.LoginGuard;
+import com.wecaare.insurance.security.TokenRevocationService;
 import com.wecaare.insurance.security.UserDetailsImpl;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -21,12 +23,17 @@ public class AuthService {
     private final AuthenticationManager authenticationManager;
     private final JwtTokenProvider tokenProvider;
     private final UserRepository userRepository;
+    private final LoginGuard loginGuard;
+    private final TokenRevocationService revocationService;
     
-    public LoginResponse login(LoginRequest loginRequest) {
-        Authentication authentication = authenticationManager.authenticate(
-            new UsernamePasswordAuthenticationToken(
-                loginRequest.getUsername(),
-                loginRequest.getPassword()
+    public LoginResponse login(LoginRequest loginRequest, String clientIp) {
+        // BCrypt verification runs on the bounded login executor, not on the request thread's budget
+        Authentication authentication = loginGuard.execute(loginRequest.getUsername(), clientIp, () ->
+            authenticationManager.authenticate(
+                new UsernamePasswordAuthenticationToken(
+                    loginRequest.getUsername(),
+                    loginRequest.getPassword()
+                )
             )
         );
         
@@ -39,6 +46,13 @@ public class AuthService {
         return new LoginResponse(jwt, userDTO);
     }
     
+    public void logout(String token) {
+        if (token != null) {
+            revocationService.revoke(token);
+        }
+        SecurityContextHolder.clearContext();
+    }
+    
     public UserDTO getCurrentUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication != null && authentication.getPrincipal() instanceof UserDetailsImpl) {
@@ -48,4 +62,3 @@ public class AuthService {
         throw new RuntimeException("User not authenticated");
     }
 }
-
@@ -0,0 +1,49 @@
+package com.wecaare.insurance.service;
+
+import com.wecaare.insurance.security.VerifiedTokenCache;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+import java.util.HashMap;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+public class CacheStatisticsService {
+    
+    private final EntityManagerFactory entityManagerFactory;
+    private final VerifiedTokenCache verifiedTokenCache;
+    
+    public Map<String, Object> getCacheStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("verifiedTokens", verifiedTokenCache.getStats());
+        
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        if (statistics.isStatisticsEnabled()) {
+            Map<String, Object> regions = new HashMap<>();
+            for (String regionName : statistics.getSecondLevelCacheRegionNames()) {
+                CacheRegionStatistics region = statistics.getCacheRegionStatistics(regionName);
+                if (region == null) {
+                    continue;
+                }
+                Map<String, Object> regionStats = new HashMap<>();
+                regionStats.put("hits", region.getHitCount());
+                regionStats.put("misses", region.getMissCount());
+                regionStats.put("puts", region.getPutCount());
+                regionStats.put("size", region.getElementCountInMemory());
+                regions.put(regionName, regionStats);
+            }
+            stats.put("hibernateRegions", regions);
+            
+            Map<String, Object> queryCache = new HashMap<>();
+            queryCache.put("hits", statistics.getQueryCacheHitCount());
+            queryCache.put("misses", statistics.getQueryCacheMissCount());
+            queryCache.put("puts", statistics.getQueryCachePutCount());
+            stats.put("hibernateQueryCache", queryCache);
+        }
+        return stats;
+    }
+}
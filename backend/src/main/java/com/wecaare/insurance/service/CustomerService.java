@@ -0,0 +1,94 @@
+package com.wecaare.insurance.service;
+
+import com.wecaare.insurance.model.InsuranceRecord;
+import com.wecaare.insurance.repository.InsuranceRecordRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+
+// A customer is all the policies under one phone number: every vehicle and renewal, read with a single
+// lookup on the normalized_phone index and summarised here instead of repeated searches over the table.
+@Service
+@RequiredArgsConstructor
+public class CustomerService {
+
+    private final InsuranceRecordRepository recordRepository;
+
+    @Transactional(readOnly = true)
+    public Map<String, Object> getCustomer(String phoneNumber) {
+        String phone = RecordKeys.phone(phoneNumber);
+        if (phone == null) {
+            throw new RuntimeException("Invalid phone number");
+        }
+        List<InsuranceRecord> policies = new ArrayList<>(recordRepository.findByNormalizedPhoneAndDeletedAtIsNull(phone));
+        if (policies.isEmpty()) {
+            throw new RuntimeException("No policies found for phone number: " + phoneNumber);
+        }
+        // Latest term first, undated policies last
+        policies.sort(Comparator.comparing(InsuranceRecord::getExpiryDate, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(InsuranceRecord::getId, Comparator.reverseOrder()));
+
+        LocalDate today = LocalDate.now();
+        Set<String> names = new LinkedHashSet<>();
+        Set<String> vehicles = new LinkedHashSet<>();
+        double totalPremium = 0;
+        InsuranceRecord nextExpiry = null;
+        InsuranceRecord lastNotified = null;
+
+        for (InsuranceRecord policy : policies) {
+            if (policy.getCustomerName() != null && !policy.getCustomerName().isBlank()) {
+                names.add(policy.getCustomerName());
+            }
+            if (policy.getVehicleNumber() != null && !policy.getVehicleNumber().isBlank()) {
+                vehicles.add(policy.getVehicleNumber());
+            }
+            if (policy.getTotalPremium() != null) {
+                totalPremium += policy.getTotalPremium();
+            }
+            if (policy.getExpiryDate() != null && !policy.getExpiryDate().isBefore(today)
+                    && (nextExpiry == null || policy.getExpiryDate().isBefore(nextExpiry.getExpiryDate()))) {
+                nextExpiry = policy;
+            }
+            if (policy.getNotifiedAt() != null
+                    && (lastNotified == null || policy.getNotifiedAt().isAfter(lastNotified.getNotifiedAt()))) {
+                lastNotified = policy;
+            }
+        }
+
+        Map<String, Object> customer = new LinkedHashMap<>();
+        customer.put("phoneNumber", phone);
+        customer.put("customerNames", names);
+        customer.put("vehicles", vehicles);
+        customer.put("policyCount", policies.size());
+        customer.put("totalPremium", totalPremium);
+
+        if (nextExpiry != null) {
+            Map<String, Object> expiry = new LinkedHashMap<>();
+            expiry.put("recordId", nextExpiry.getId());
+            expiry.put("vehicleNumber", nextExpiry.getVehicleNumber());
+            expiry.put("expiryDate", nextExpiry.getExpiryDate());
+            expiry.put("daysUntilExpiry", ChronoUnit.DAYS.between(today, nextExpiry.getExpiryDate()));
+            customer.put("nextExpiry", expiry);
+        } else {
+            customer.put("nextExpiry", null);
+        }
+
+        if (lastNotified != null) {
+            Map<String, Object> notification = new LinkedHashMap<>();
+            notification.put("recordId", lastNotified.getId());
+            notification.put("vehicleNumber", lastNotified.getVehicleNumber());
+            notification.put("notifiedAt", lastNotified.getNotifiedAt());
+            notification.put("notifiedBy", lastNotified.getNotifiedBy());
+            notification.put("notifiedNotes", lastNotified.getNotifiedNotes());
+            customer.put("lastNotification", notification);
+        } else {
+            customer.put("lastNotification", null);
+        }
+
+        customer.put("policies", policies);
+        return customer;
+    }
+}
@@ -0,0 +1,125 @@
+package com.wecaare.insurance.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
+import org.springframework.stereotype.Service;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Builds the whole dashboard in one call: each widget runs on a small bounded executor, has its own
+// timeout, and a widget that fails or times out is reported under "errors" while the rest are still returned.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DashboardService {
+
+    public static final String POLICIES_COUNT = "policiesCount";
+    public static final String MONTHLY_PERFORMANCE = "monthlyPerformance";
+    public static final String EXPIRING_POLICIES = "expiringPolicies";
+    public static final String FINANCIAL_SUMMARY = "financialSummary";
+
+    private final AnalyticsService analyticsService;
+    private final InsuranceRecordService insuranceRecordService;
+
+    @Value("${dashboard.executor.threads:4}")
+    private int threads;
+
+    @Value("${dashboard.executor.queue-size:100}")
+    private int queueSize;
+
+    @Value("${dashboard.widget-timeout-ms:5000}")
+    private long widgetTimeoutMs;
+
+    private ExecutorService executor;
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger counter = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueSize),
+            runnable -> {
+                Thread thread = new Thread(runnable, "dashboard-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+        // Widgets run as the requesting user, so read routing (sticky reads after a write) still applies
+        executor = new DelegatingSecurityContextExecutorService(pool);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public Map<String, Object> getDashboard(Set<String> widgets, boolean admin, int year, int days) {
+        long startedAt = System.currentTimeMillis();
+
+        Map<String, Callable<Object>> tasks = new LinkedHashMap<>();
+        if (widgets.contains(POLICIES_COUNT)) {
+            tasks.put(POLICIES_COUNT, () -> Map.of("totalPolicies", analyticsService.getPoliciesCount()));
+        }
+        if (widgets.contains(MONTHLY_PERFORMANCE)) {
+            tasks.put(MONTHLY_PERFORMANCE, () -> analyticsService.getMonthlyPerformance(year));
+        }
+        if (widgets.contains(EXPIRING_POLICIES)) {
+            tasks.put(EXPIRING_POLICIES, () -> {
+                List<Map<String, Object>> records = insuranceRecordService.getExpiringPolicies(days);
+                Map<String, Object> expiring = new HashMap<>();
+                expiring.put("records", records);
+                expiring.put("total", records.size());
+                expiring.put("dateRange", Map.of("days", days));
+                return expiring;
+            });
+        }
+        // Same rule as /admin/financial-summary
+        if (admin && widgets.contains(FINANCIAL_SUMMARY)) {
+            tasks.put(FINANCIAL_SUMMARY, insuranceRecordService::getFinancialSummary);
+        }
+
+        Map<String, Future<Object>> futures = new LinkedHashMap<>();
+        Map<String, String> errors = new LinkedHashMap<>();
+        for (Map.Entry<String, Callable<Object>> task : tasks.entrySet()) {
+            try {
+                futures.put(task.getKey(), executor.submit(task.getValue()));
+            } catch (RejectedExecutionException e) {
+                errors.put(task.getKey(), "Server busy");
+            }
+        }
+
+        // Every widget gets the same deadline, counted from when they were all submitted
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(widgetTimeoutMs);
+        Map<String, Object> results = new LinkedHashMap<>();
+        for (Map.Entry<String, Future<Object>> entry : futures.entrySet()) {
+            Future<Object> future = entry.getValue();
+            try {
+                results.put(entry.getKey(), future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                errors.put(entry.getKey(), "Timed out after " + widgetTimeoutMs + " ms");
+            } catch (InterruptedException e) {
+                future.cancel(true);
+                Thread.currentThread().interrupt();
+                errors.put(entry.getKey(), "Interrupted");
+            } catch (ExecutionException e) {
+                String message = e.getCause().getMessage() != null
+                    ? e.getCause().getMessage()
+                    : e.getCause().getClass().getSimpleName();
+                log.warn("Dashboard widget {} failed: {}", entry.getKey(), message);
+                errors.put(entry.getKey(), message);
+            }
+        }
+
+        Map<String, Object> dashboard = new LinkedHashMap<>(results);
+        if (!errors.isEmpty()) {
+            dashboard.put("errors", errors);
+        }
+        dashboard.put("durationMs", System.currentTimeMillis() - startedAt);
+        return dashboard;
+    }
+}
@@ -0,0 +1,183 @@
+package com.wecaare.insurance.service;
+
+import com.wecaare.insurance.config.DatabaseConfig;
+import com.wecaare.insurance.config.FallbackDataSource;
+import com.wecaare.insurance.config.ReadWriteRoutingDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.*;
+import java.sql.*;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+// Online SQLite backups with VACUUM INTO. In WAL mode the copy only holds a read snapshot,
+// so writers carry on while it runs. Each copy is integrity-checked before it replaces the oldest one.
+@Service
+@Slf4j
+public class DatabaseBackupService {
+
+    private static final String FILE_PREFIX = "online-backup-";
+    private static final String FILE_SUFFIX = ".db";
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd-HHmmss");
+
+    private final DataSource dataSource;
+
+    @Value("${backup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${backup.directory:./backups}")
+    private String directory;
+
+    @Value("${backup.keep:7}")
+    private int keep;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private volatile Map<String, Object> lastBackup;
+
+    public DatabaseBackupService(DataSource dataSource) {
+        this.dataSource = sourceDataSource(dataSource);
+    }
+
+    // Copy from a reader where there is a local read pool, so the single SQLite writer is never held;
+    // a replica may lag, so in that case the primary is copied
+    private static DataSource sourceDataSource(DataSource proxied) {
+        DataSource dataSource = DatabaseConfig.unwrapProxy(proxied);
+        if (dataSource instanceof ReadWriteRoutingDataSource) {
+            ReadWriteRoutingDataSource routing = (ReadWriteRoutingDataSource) dataSource;
+            return routing.getReadDataSource() instanceof FallbackDataSource
+                ? routing.getWriteDataSource()
+                : routing.getReadDataSource();
+        }
+        return dataSource;
+    }
+
+    @Scheduled(cron = "${backup.cron:0 0 3 * * *}")
+    public void scheduledBackup() {
+        if (!enabled || !isSqlite()) {
+            return;
+        }
+        try {
+            runBackup();
+        } catch (RuntimeException e) {
+            log.error("Scheduled database backup failed", e);
+        }
+    }
+
+    public Map<String, Object> runBackup() {
+        if (!isSqlite()) {
+            throw new RuntimeException("Online backups are only supported for SQLite databases");
+        }
+        if (!running.compareAndSet(false, true)) {
+            throw new RuntimeException("A database backup is already running");
+        }
+        try {
+            return backup();
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private Map<String, Object> backup() {
+        long startedAt = System.currentTimeMillis();
+        Path dir = Paths.get(directory).toAbsolutePath().normalize();
+        String name = FILE_PREFIX + LocalDateTime.now().format(FILE_TIMESTAMP) + FILE_SUFFIX;
+        Path target = dir.resolve(name);
+        Path temp = dir.resolve(name + ".tmp");
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("file", target.toString());
+        result.put("startedAt", LocalDateTime.now());
+        try {
+            Files.createDirectories(dir);
+            Files.deleteIfExists(temp);
+
+            try (Connection connection = dataSource.getConnection();
+                 Statement statement = connection.createStatement()) {
+                statement.execute("VACUUM INTO '" + temp.toString().replace("'", "''") + "'");
+            }
+
+            String check = verify(temp);
+            if (!"ok".equals(check)) {
+                Files.deleteIfExists(temp);
+                throw new RuntimeException("Backup failed integrity check: " + check);
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+
+            result.put("sizeBytes", Files.size(target));
+            result.put("verified", true);
+            result.put("removed", rotate(dir));
+            result.put("durationMs", System.currentTimeMillis() - startedAt);
+            log.info("Database backup written to {} ({} bytes, {} ms)",
+                target, result.get("sizeBytes"), result.get("durationMs"));
+            lastBackup = result;
+            return result;
+        } catch (SQLException | IOException | RuntimeException e) {
+            result.put("verified", false);
+            result.put("error", e.getMessage());
+            result.put("durationMs", System.currentTimeMillis() - startedAt);
+            lastBackup = result;
+            try {
+                Files.deleteIfExists(temp);
+            } catch (IOException ignored) {
+                // the next run overwrites it
+            }
+            throw new RuntimeException("Database backup failed: " + e.getMessage(), e);
+        }
+    }
+
+    private String verify(Path file) throws SQLException {
+        try (Connection connection = DriverManager.getConnection("jdbc:sqlite:" + file);
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("PRAGMA integrity_check")) {
+            return rs.next() ? rs.getString(1) : "no result";
+        }
+    }
+
+    // Keeps the newest backup.keep online backups; manually created backups are left alone
+    private List<String> rotate(Path dir) throws IOException {
+        List<Path> backups;
+        try (Stream<Path> files = Files.list(dir)) {
+            backups = files
+                .filter(path -> {
+                    String fileName = path.getFileName().toString();
+                    return fileName.startsWith(FILE_PREFIX) && fileName.endsWith(FILE_SUFFIX);
+                })
+                .sorted(Comparator.comparing((Path path) -> path.getFileName().toString()).reversed())
+                .toList();
+        }
+
+        List<String> removed = new ArrayList<>();
+        for (Path old : backups.subList(Math.min(Math.max(keep, 1), backups.size()), backups.size())) {
+            Files.deleteIfExists(old);
+            removed.add(old.getFileName().toString());
+        }
+        return removed;
+    }
+
+    private boolean isSqlite() {
+        try (Connection connection = dataSource.getConnection()) {
+            return "SQLite".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName());
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new HashMap<>();
+        status.put("running", running.get());
+        status.put("enabled", enabled);
+        status.put("directory", Paths.get(directory).toAbsolutePath().normalize().toString());
+        status.put("keep", keep);
+        if (lastBackup != null) {
+            status.put("lastBackup", lastBackup);
+        }
+        return status;
+    }
+}
@@ -0,0 +1,444 @@
+package com.wecaare.insurance.service;
+
+import com.wecaare.insurance.audit.AuditTrail;
+import com.wecaare.insurance.model.InsuranceRecord;
+import com.wecaare.insurance.repository.InsuranceRecordRepository;
+import com.wecaare.insurance.security.UserDetailsImpl;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+// Finds records that are the same policy entered more than once (repeated Excel imports, retyped rows).
+// Every live record is put in up to three hash blocks - normalized plate, normalized phone and the phonetic
+// key of the name - and only records sharing a block are compared, so the work grows with the number of
+// records rather than its square. Blocks larger than dedupe.max-block-size (a placeholder phone, a very
+// common name) are skipped and counted instead of compared. Matching pairs are joined into groups with
+// union-find; nothing is changed until an admin merges a group.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DuplicateDetectionService {
+
+    private static final String SCAN_SQL =
+        "SELECT id, customer_name, phone_number, vehicle_number, policy_start_date, expiry_date " +
+        "FROM insurance_records WHERE deleted_at IS NULL AND id > ? ORDER BY id LIMIT ?";
+
+    private static final int NO_DATE = Integer.MIN_VALUE;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final InsuranceRecordRepository recordRepository;
+    private final AuditTrail auditTrail;
+    private final SingleFlight singleFlight;
+
+    @Value("${dedupe.threshold:0.85}")
+    private double threshold;
+
+    @Value("${dedupe.max-block-size:50}")
+    private int maxBlockSize;
+
+    @Value("${dedupe.date-tolerance-days:7}")
+    private int dateToleranceDays;
+
+    @Value("${dedupe.chunk-size:5000}")
+    private int chunkSize;
+
+    @Value("${dedupe.report-groups:500}")
+    private int reportGroups;
+
+    private TransactionTemplate readOnlyTransaction;
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private volatile Map<String, Object> lastReport;
+
+    @PostConstruct
+    public void init() {
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    public Map<String, Object> scan() {
+        if (!running.compareAndSet(false, true)) {
+            throw new RuntimeException("Duplicate scan is already running");
+        }
+        try {
+            return runScan();
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private Map<String, Object> runScan() {
+        long startedAt = System.currentTimeMillis();
+        // One read-only transaction, so the scan sees a single consistent snapshot
+        List<Candidate> candidates = readOnlyTransaction.execute(status -> loadCandidates());
+        int n = candidates.size();
+
+        int[] parent = new int[n];
+        for (int i = 0; i < n; i++) {
+            parent[i] = i;
+        }
+        double[] groupScore = new double[n];
+        Arrays.fill(groupScore, 1.0);
+
+        ScanStats stats = new ScanStats();
+        // One key at a time, so only one partition is held in memory
+        compareWithinBlocks(candidates, c -> c.plate, parent, groupScore, stats);
+        compareWithinBlocks(candidates, c -> c.phone, parent, groupScore, stats);
+        compareWithinBlocks(candidates, c -> c.nameKey, parent, groupScore, stats);
+
+        // Lists are only built for roots of actual groups, not for every record
+        int[] groupSize = new int[n];
+        for (int i = 0; i < n; i++) {
+            groupSize[find(parent, i)]++;
+        }
+        Map<Integer, List<Integer>> members = new HashMap<>();
+        for (int i = 0; i < n; i++) {
+            int root = find(parent, i);
+            if (groupSize[root] > 1) {
+                members.computeIfAbsent(root, key -> new ArrayList<>(groupSize[key])).add(i);
+            }
+        }
+        long duplicateRecords = 0;
+        for (List<Integer> group : members.values()) {
+            duplicateRecords += group.size() - 1;
+        }
+        // Biggest groups first, then the least certain ones for review
+        List<Integer> roots = new ArrayList<>(members.keySet());
+        roots.sort(Comparator.<Integer>comparingInt(root -> groupSize[root]).reversed()
+            .thenComparingDouble(root -> groupScore[root]));
+
+        List<Integer> reported = roots.subList(0, Math.min(roots.size(), Math.max(1, reportGroups)));
+        List<Map<String, Object>> groupDetails = describeGroups(candidates, reported, members, groupScore);
+
+        long durationMs = System.currentTimeMillis() - startedAt;
+        log.info("Duplicate scan: {} records, {} groups, {} comparisons, {} oversized blocks ({} ms)",
+            n, roots.size(), stats.comparisons, stats.oversizedBlocks, durationMs);
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("scannedRecords", n);
+        report.put("blocks", stats.blocks);
+        report.put("oversizedBlocks", stats.oversizedBlocks);
+        report.put("comparisons", stats.comparisons);
+        report.put("duplicateGroups", roots.size());
+        report.put("duplicateRecords", duplicateRecords);
+        report.put("truncated", roots.size() > reported.size());
+        report.put("groups", groupDetails);
+        report.put("durationMs", durationMs);
+        report.put("finishedAt", LocalDateTime.now());
+        lastReport = report;
+        return report;
+    }
+
+    // Keyset-paged so the driver never has to hold the whole table
+    private List<Candidate> loadCandidates() {
+        List<Candidate> candidates = new ArrayList<>();
+        int limit = Math.max(1, chunkSize);
+        long lastId = 0;
+        while (true) {
+            List<Candidate> chunk = jdbcTemplate.query(SCAN_SQL, (rs, rowNum) -> new Candidate(
+                rs.getLong("id"),
+                RecordKeys.plate(rs.getString("vehicle_number")),
+                RecordKeys.phone(rs.getString("phone_number")),
+                sortedWords(RecordKeys.name(rs.getString("customer_name"))),
+                RecordKeys.nameKey(rs.getString("customer_name")),
+                epochDay(rs.getString("policy_start_date")),
+                epochDay(rs.getString("expiry_date"))), lastId, limit);
+            candidates.addAll(chunk);
+            if (chunk.size() < limit) {
+                return candidates;
+            }
+            lastId = chunk.get(chunk.size() - 1).id;
+        }
+    }
+
+    private void compareWithinBlocks(List<Candidate> candidates, Function<Candidate, String> blockKey,
+                                     int[] parent, double[] groupScore, ScanStats stats) {
+        Map<String, List<Integer>> blocks = new HashMap<>();
+        for (int i = 0; i < candidates.size(); i++) {
+            String key = blockKey.apply(candidates.get(i));
+            if (key != null) {
+                blocks.computeIfAbsent(key, k -> new ArrayList<>(2)).add(i);
+            }
+        }
+
+        for (List<Integer> block : blocks.values()) {
+            if (block.size() < 2) {
+                continue;
+            }
+            stats.blocks++;
+            if (block.size() > maxBlockSize) {
+                stats.oversizedBlocks++;
+                continue;
+            }
+            for (int x = 0; x < block.size(); x++) {
+                for (int y = x + 1; y < block.size(); y++) {
+                    int a = find(parent, block.get(x));
+                    int b = find(parent, block.get(y));
+                    // Already grouped through another key
+                    if (a == b) {
+                        continue;
+                    }
+                    stats.comparisons++;
+                    double score = score(candidates.get(block.get(x)), candidates.get(block.get(y)));
+                    if (score >= threshold) {
+                        parent[b] = a;
+                        groupScore[a] = Math.min(Math.min(groupScore[a], groupScore[b]), score);
+                    }
+                }
+            }
+        }
+    }
+
+    // Renewals of the same vehicle are separate policies, so rows only match when their policy terms line up.
+    // A clearly different plate means a different vehicle; with a plate missing on either side the phone has
+    // to match, and a name alone is never enough.
+    private double score(Candidate a, Candidate b) {
+        if (!sameTerm(a, b)) {
+            return 0.0;
+        }
+        double name = RecordKeys.similarity(a.name, b.name);
+        double phone = a.phone == null || b.phone == null ? 0.5 : a.phone.equals(b.phone) ? 1.0 : 0.0;
+
+        if (a.plate != null && b.plate != null) {
+            double plate = RecordKeys.similarity(a.plate, b.plate);
+            if (plate < 0.9) {
+                return 0.0;
+            }
+            return 0.6 * plate + 0.25 * name + 0.15 * phone;
+        }
+        if (phone == 1.0) {
+            return 0.5 + 0.5 * name;
+        }
+        return 0.8 * name;
+    }
+
+    private boolean sameTerm(Candidate a, Candidate b) {
+        if (a.expiryDay != NO_DATE && b.expiryDay != NO_DATE) {
+            return Math.abs(a.expiryDay - b.expiryDay) <= dateToleranceDays;
+        }
+        if (a.startDay != NO_DATE && b.startDay != NO_DATE) {
+            return Math.abs(a.startDay - b.startDay) <= dateToleranceDays;
+        }
+        return true;
+    }
+
+    private List<Map<String, Object>> describeGroups(List<Candidate> candidates, List<Integer> roots,
+                                                     Map<Integer, List<Integer>> members, double[] groupScore) {
+        List<Long> ids = new ArrayList<>();
+        for (int root : roots) {
+            for (int index : members.get(root)) {
+                ids.add(candidates.get(index).id);
+            }
+        }
+        Map<Long, InsuranceRecord> records = new HashMap<>();
+        readOnlyTransaction.executeWithoutResult(status -> {
+            // Stay below SQLite's limit of 999 bound parameters per statement
+            for (int from = 0; from < ids.size(); from += 500) {
+                for (InsuranceRecord record : recordRepository.findAllById(ids.subList(from, Math.min(ids.size(), from + 500)))) {
+                    records.put(record.getId(), record);
+                }
+            }
+        });
+
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (int root : roots) {
+            List<InsuranceRecord> groupRecords = new ArrayList<>();
+            for (int index : members.get(root)) {
+                InsuranceRecord record = records.get(candidates.get(index).id);
+                if (record != null) {
+                    groupRecords.add(record);
+                }
+            }
+            if (groupRecords.size() < 2) {
+                continue;
+            }
+            groupRecords.sort(Comparator.comparing(InsuranceRecord::getId));
+            InsuranceRecord survivor = Collections.max(groupRecords, Comparator
+                .comparingInt(DuplicateDetectionService::filledFields)
+                .thenComparing(InsuranceRecord::getId));
+
+            Map<String, Object> details = new LinkedHashMap<>();
+            details.put("score", Math.round(groupScore[root] * 1000) / 1000.0);
+            details.put("suggestedSurvivorId", survivor.getId());
+            details.put("records", groupRecords);
+            result.add(details);
+        }
+        return result;
+    }
+
+    private static int filledFields(InsuranceRecord record) {
+        int filled = 0;
+        for (Object value : Arrays.asList(record.getPhoneNumber(), record.getVehicleNumber(), record.getCompany(),
+                record.getPolicyStartDate(), record.getExpiryDate(), record.getTotalPremium(),
+                record.getTotalCommission(), record.getNotifiedAt())) {
+            if (value != null && !"".equals(value)) {
+                filled++;
+            }
+        }
+        return filled;
+    }
+
+    // Keeps the survivor, fills its empty fields from the duplicates and soft-deletes the duplicates
+    @Transactional
+    public InsuranceRecord mergeRecords(Long survivorId, List<Long> duplicateIds) {
+        if (survivorId == null || duplicateIds == null || duplicateIds.isEmpty()) {
+            throw new RuntimeException("A survivor and at least one duplicate record are required");
+        }
+        if (duplicateIds.contains(survivorId)) {
+            throw new RuntimeException("The survivor cannot also be merged as a duplicate");
+        }
+        Long userId = getCurrentUserId();
+        LocalDateTime now = LocalDateTime.now();
+
+        InsuranceRecord survivor = getLiveRecord(survivorId);
+        String survivorBefore = auditTrail.snapshot(survivor);
+
+        for (Long id : new LinkedHashSet<>(duplicateIds)) {
+            InsuranceRecord duplicate = getLiveRecord(id);
+            String before = auditTrail.snapshot(duplicate);
+            fillMissing(survivor, duplicate);
+            duplicate.setDeletedAt(now);
+            duplicate.setUpdatedBy(userId);
+            recordRepository.save(duplicate);
+            auditTrail.record("DELETE", AuditTrail.INSURANCE_RECORDS, id, before, duplicate);
+        }
+
+        survivor.setUpdatedBy(userId);
+        InsuranceRecord saved = recordRepository.save(survivor);
+        auditTrail.record("MERGE", AuditTrail.INSURANCE_RECORDS, survivorId, survivorBefore, saved);
+        singleFlight.dataChanged();
+        log.info("Merged records {} into {}", duplicateIds, survivorId);
+        return saved;
+    }
+
+    private static void fillMissing(InsuranceRecord survivor, InsuranceRecord duplicate) {
+        if (isBlank(survivor.getCustomerName())) {
+            survivor.setCustomerName(duplicate.getCustomerName());
+        }
+        if (isBlank(survivor.getPhoneNumber())) {
+            survivor.setPhoneNumber(duplicate.getPhoneNumber());
+            survivor.setNormalizedPhone(duplicate.getNormalizedPhone());
+        }
+        if (isBlank(survivor.getVehicleNumber())) {
+            survivor.setVehicleNumber(duplicate.getVehicleNumber());
+        }
+        if (isBlank(survivor.getCompany())) {
+            survivor.setCompany(duplicate.getCompany());
+        }
+        if (survivor.getPolicyStartDate() == null) {
+            survivor.setPolicyStartDate(duplicate.getPolicyStartDate());
+        }
+        if (survivor.getExpiryDate() == null) {
+            survivor.setExpiryDate(duplicate.getExpiryDate());
+        }
+        // Financials move as a set, and only when the survivor has none
+        if (!survivor.hasFinancialDetails() && duplicate.hasFinancialDetails()) {
+            survivor.setTotalPremium(duplicate.getTotalPremium());
+            survivor.setTotalCommission(duplicate.getTotalCommission());
+            survivor.setCustomerDiscountedPremium(duplicate.getCustomerDiscountedPremium());
+            survivor.setAdminDetailsAdded(true);
+        }
+        if (!Boolean.TRUE.equals(survivor.getRenewalNotified()) && Boolean.TRUE.equals(duplicate.getRenewalNotified())) {
+            survivor.setRenewalNotified(true);
+            survivor.setNotifiedAt(duplicate.getNotifiedAt());
+            survivor.setNotifiedBy(duplicate.getNotifiedBy());
+            survivor.setNotifiedNotes(duplicate.getNotifiedNotes());
+        }
+    }
+
+    private InsuranceRecord getLiveRecord(Long id) {
+        return recordRepository.findById(id)
+            .filter(record -> record.getDeletedAt() == null)
+            .orElseThrow(() -> new RuntimeException("Record not found with id: " + id));
+    }
+
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new HashMap<>();
+        status.put("running", running.get());
+        if (lastReport != null) {
+            status.put("lastReport", lastReport);
+        }
+        return status;
+    }
+
+    private static int find(int[] parent, int i) {
+        while (parent[i] != i) {
+            parent[i] = parent[parent[i]];
+            i = parent[i];
+        }
+        return i;
+    }
+
+    // Dates are 'yyyy-MM-dd' text in SQLite and DATE in PostgreSQL; anything unparseable counts as missing
+    private static int epochDay(String value) {
+        if (value == null || value.length() < 10) {
+            return NO_DATE;
+        }
+        try {
+            return (int) LocalDate.parse(value.substring(0, 10)).toEpochDay();
+        } catch (RuntimeException e) {
+            return NO_DATE;
+        }
+    }
+
+    // Names are compared with their words sorted, so "ALI MOHAMMED" and "MOHAMMED ALI" are identical
+    private static String sortedWords(String name) {
+        if (name == null) {
+            return null;
+        }
+        String[] words = name.split(" ");
+        Arrays.sort(words);
+        return String.join(" ", words);
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private Long getCurrentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserDetailsImpl) {
+            return ((UserDetailsImpl) authentication.getPrincipal()).getId();
+        }
+        return null;
+    }
+
+    private static class Candidate {
+        private final long id;
+        private final String plate;
+        private final String phone;
+        private final String name;
+        private final String nameKey;
+        private final int startDay;
+        private final int expiryDay;
+
+        Candidate(long id, String plate, String phone, String name, String nameKey, int startDay, int expiryDay) {
+            this.id = id;
+            this.plate = plate;
+            this.phone = phone;
+            this.name = name;
+            this.nameKey = nameKey;
+            this.startDay = startDay;
+            this.expiryDay = expiryDay;
+        }
+    }
+
+    private static class ScanStats {
+        private long blocks;
+        private long oversizedBlocks;
+        private long comparisons;
+    }
+}
@@ -1,6 +1,9 @@
 package com.wecaare.insurance.service;
 
 import com.wecaare.insurance.model.InsuranceRecord;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import org.apache.poi.ss.usermodel.*;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
@@ -10,17 +13,35 @@ import java.io.IOException;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 @Service
 @RequiredArgsConstructor
 public class ExportService {
     
     private final InsuranceRecordService insuranceRecordService;
+    private final MeterRegistry meterRegistry;
     private final DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
     
     public byte[] exportToExcel() throws IOException {
+        long start = System.nanoTime();
         List<InsuranceRecord> records = insuranceRecordService.getAllRecords();
+        byte[] data = writeWorkbook(records);
         
+        Timer.builder("export.duration").tag("format", "xlsx")
+            .publishPercentileHistogram()
+            .register(meterRegistry)
+            .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        DistributionSummary.builder("export.size").tag("format", "xlsx").baseUnit("bytes")
+            .register(meterRegistry)
+            .record(data.length);
+        DistributionSummary.builder("export.rows").tag("format", "xlsx")
+            .register(meterRegistry)
+            .record(records.size());
+        return data;
+    }
+    
+    private byte[] writeWorkbook(List<InsuranceRecord> records) throws IOException {
         try (Workbook workbook = new XSSFWorkbook();
              ByteArrayOutputStream out = new ByteArrayOutputStream()) {
             
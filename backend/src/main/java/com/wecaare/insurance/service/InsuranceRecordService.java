@@ -1,5 +1,6 @@
 package com.wecaare.insurance.service;
 
+import com.wecaare.insurance.audit.AuditTrail;
 import com.wecaare.insurance.dto.FinancialDetailsRequest;
 import com.wecaare.insurance.dto.InsuranceRecordRequest;
 import com.wecaare.insurance.model.InsuranceRecord;
@@ -8,6 +9,7 @@ import com.wecaare.insurance.security.UserDetailsImpl;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.query.NativeQuery;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -24,6 +26,8 @@ import java.util.stream.Collectors;
 public class InsuranceRecordService {
     
     private final InsuranceRecordRepository recordRepository;
+    private final AuditTrail auditTrail;
+    private final SingleFlight singleFlight;
     @PersistenceContext
     private EntityManager entityManager;
     
@@ -53,38 +57,46 @@ public class InsuranceRecordService {
         
         // Use native query for SQLite compatibility
         String sql = "INSERT INTO insurance_records (" +
-            "uuid, customer_name, phone_number, vehicle_number, company, " +
+            "uuid, customer_name, phone_number, normalized_phone, vehicle_number, company, " +
             "policy_start_date, expiry_date, created_by, updated_by, " +
             "created_at, updated_at, admin_details_added, renewal_notified" +
-            ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+            ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
         
+        // Declaring the touched entity keeps Hibernate from invalidating every cache region on a native write
         entityManager.createNativeQuery(sql)
+            .unwrap(NativeQuery.class)
+            .addSynchronizedEntityClass(InsuranceRecord.class)
             .setParameter(1, uuid)
             .setParameter(2, request.getCustomerName())
             .setParameter(3, request.getPhoneNumber())
-            .setParameter(4, request.getVehicleNumber())
-            .setParameter(5, request.getCompany())
-            .setParameter(6, request.getPolicyStartDate())
-            .setParameter(7, request.getExpiryDate())
-            .setParameter(8, userId)
+            .setParameter(4, RecordKeys.phone(request.getPhoneNumber()))
+            .setParameter(5, request.getVehicleNumber())
+            .setParameter(6, request.getCompany())
+            .setParameter(7, request.getPolicyStartDate())
+            .setParameter(8, request.getExpiryDate())
             .setParameter(9, userId)
-            .setParameter(10, nowStr)
+            .setParameter(10, userId)
             .setParameter(11, nowStr)
-            .setParameter(12, false)
+            .setParameter(12, nowStr)
             .setParameter(13, false)
+            .setParameter(14, false)
             .executeUpdate();
         
         entityManager.flush();
         
         // Query back by UUID to get the record with generated ID
-        return recordRepository.findByUuid(uuid)
+        InsuranceRecord created = recordRepository.findByUuid(uuid)
             .orElseThrow(() -> new RuntimeException("Failed to retrieve created record"));
+        auditTrail.record("CREATE", AuditTrail.INSURANCE_RECORDS, created.getId(), null, created);
+        singleFlight.dataChanged();
+        return created;
     }
     
     public List<InsuranceRecord> getAllRecords() {
-        return recordRepository.findByDeletedAtIsNullOrderByUpdatedAtDesc();
+        return singleFlight.read("getAllRecords", recordRepository::findByDeletedAtIsNullOrderByUpdatedAtDesc);
     }
     
+    @Transactional(readOnly = true)
     public List<InsuranceRecord> searchRecords(String search) {
         if (search == null || search.trim().isEmpty()) {
             return getAllRecords();
@@ -92,6 +104,7 @@ public class InsuranceRecordService {
         return recordRepository.searchRecords(search.trim());
     }
     
+    @Transactional(readOnly = true)
     public InsuranceRecord getRecordById(Long id) {
         return recordRepository.findById(id)
             .filter(record -> record.getDeletedAt() == null)
@@ -101,38 +114,54 @@ public class InsuranceRecordService {
     @Transactional
     public InsuranceRecord updateRecord(Long id, InsuranceRecordRequest request) {
         InsuranceRecord record = getRecordById(id);
+        String before = auditTrail.snapshot(record);
         record.setCustomerName(request.getCustomerName());
         record.setPhoneNumber(request.getPhoneNumber());
+        record.setNormalizedPhone(RecordKeys.phone(request.getPhoneNumber()));
         record.setVehicleNumber(request.getVehicleNumber());
         record.setCompany(request.getCompany());
         record.setPolicyStartDate(request.getPolicyStartDate());
         record.setExpiryDate(request.getExpiryDate());
         record.setUpdatedBy(getCurrentUserId());
         
-        return recordRepository.save(record);
+        InsuranceRecord saved = recordRepository.save(record);
+        auditTrail.record("UPDATE", AuditTrail.INSURANCE_RECORDS, id, before, saved);
+        singleFlight.dataChanged();
+        return saved;
     }
     
     @Transactional
     public void deleteRecord(Long id) {
         InsuranceRecord record = getRecordById(id);
+        String before = auditTrail.snapshot(record);
         record.setDeletedAt(LocalDateTime.now());
         record.setUpdatedBy(getCurrentUserId());
         recordRepository.save(record);
+        auditTrail.record("DELETE", AuditTrail.INSURANCE_RECORDS, id, before, record);
+        singleFlight.dataChanged();
     }
     
     @Transactional
     public InsuranceRecord updateFinancials(Long id, FinancialDetailsRequest request) {
         InsuranceRecord record = getRecordById(id);
+        String before = auditTrail.snapshot(record);
         record.setTotalPremium(request.getTotalPremium());
         record.setTotalCommission(request.getTotalCommission());
         record.setCustomerDiscountedPremium(request.getCustomerDiscountedPremium());
         record.setAdminDetailsAdded(request.getTotalCommission() != null && request.getTotalCommission() > 0);
         record.setUpdatedBy(getCurrentUserId());
         
-        return recordRepository.save(record);
+        InsuranceRecord saved = recordRepository.save(record);
+        auditTrail.record("UPDATE_FINANCIALS", AuditTrail.INSURANCE_RECORDS, id, before, saved);
+        singleFlight.dataChanged();
+        return saved;
     }
     
     public List<Map<String, Object>> getExpiringPolicies(Integer days) {
+        return singleFlight.read("getExpiringPolicies", () -> findExpiringPolicies(days), days);
+    }
+    
+    private List<Map<String, Object>> findExpiringPolicies(Integer days) {
         LocalDate today = LocalDate.now();
         LocalDate futureDate = today.plusDays(days != null ? days : 30);
         
@@ -167,32 +196,45 @@ public class InsuranceRecordService {
     @Transactional
     public InsuranceRecord markAsNotified(Long id, String notes) {
         InsuranceRecord record = getRecordById(id);
+        String before = auditTrail.snapshot(record);
         record.setRenewalNotified(true);
         record.setNotifiedAt(LocalDateTime.now());
         record.setNotifiedBy(getCurrentUserId());
         record.setNotifiedNotes(notes);
         record.setUpdatedBy(getCurrentUserId());
         
-        return recordRepository.save(record);
+        InsuranceRecord saved = recordRepository.save(record);
+        auditTrail.record("NOTIFY", AuditTrail.INSURANCE_RECORDS, id, before, saved);
+        singleFlight.dataChanged();
+        return saved;
     }
     
     @Transactional
     public InsuranceRecord unmarkAsNotified(Long id) {
         InsuranceRecord record = getRecordById(id);
+        String before = auditTrail.snapshot(record);
         record.setRenewalNotified(false);
         record.setNotifiedAt(null);
         record.setNotifiedBy(null);
         record.setNotifiedNotes(null);
         record.setUpdatedBy(getCurrentUserId());
         
-        return recordRepository.save(record);
+        InsuranceRecord saved = recordRepository.save(record);
+        auditTrail.record("UNNOTIFY", AuditTrail.INSURANCE_RECORDS, id, before, saved);
+        singleFlight.dataChanged();
+        return saved;
     }
     
+    @Transactional(readOnly = true)
     public long getTotalRecordsCount() {
         return recordRepository.countByDeletedAtIsNull();
     }
     
     public Map<String, Object> getFinancialSummary() {
+        return singleFlight.read("getFinancialSummary", this::computeFinancialSummary);
+    }
+    
+    private Map<String, Object> computeFinancialSummary() {
         List<InsuranceRecord> records = getAllRecords();
         
         double totalRevenue = records.stream()
@@ -0,0 +1,184 @@
+package com.wecaare.insurance.service;
+
+import com.wecaare.insurance.audit.AuditTrail;
+import com.wecaare.insurance.security.UserDetailsImpl;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Moves records soft-deleted more than archive.retention-days ago from insurance_records into
+// insurance_records_archive, one batch per transaction, so the live table and its indexes only hold live data.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RecordArchiveService {
+
+    private static final String COLUMNS =
+        "id, uuid, customer_name, phone_number, normalized_phone, vehicle_number, company, policy_start_date, expiry_date, " +
+        "total_premium, total_commission, customer_discounted_premium, admin_details_added, renewal_notified, " +
+        "notified_at, notified_by, notified_notes, created_by, updated_by, created_at, updated_at, deleted_at";
+
+    // deleted_at is written as epoch millis by the driver, the same way the cutoff is bound here;
+    // legacy text values compare greater than any number in SQLite and are never picked up
+    private static final String SELECT_BATCH_SQL =
+        "SELECT id FROM insurance_records WHERE deleted_at IS NOT NULL AND deleted_at < ? " +
+        "ORDER BY deleted_at LIMIT ?";
+
+    private static final String LIST_ARCHIVED_SQL =
+        "SELECT id, uuid, customer_name, phone_number, vehicle_number, company, expiry_date, deleted_at, archived_at " +
+        "FROM insurance_records_archive WHERE id > ? ORDER BY id ASC LIMIT ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final RecordCacheInvalidator cacheInvalidator;
+    private final AuditTrail auditTrail;
+
+    @Value("${archive.enabled:true}")
+    private boolean enabled;
+
+    @Value("${archive.retention-days:90}")
+    private int retentionDays;
+
+    @Value("${archive.batch-size:500}")
+    private int batchSize;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private volatile Map<String, Object> lastRun;
+
+    @Scheduled(cron = "${archive.cron:0 30 2 * * *}")
+    public void scheduledRun() {
+        if (!enabled) {
+            return;
+        }
+        archiveDeletedRecords();
+    }
+
+    public Map<String, Object> archiveDeletedRecords() {
+        if (!running.compareAndSet(false, true)) {
+            throw new RuntimeException("Archival job is already running");
+        }
+        try {
+            return archiveAll();
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private Map<String, Object> archiveAll() {
+        long startedAt = System.currentTimeMillis();
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp cutoff = Timestamp.valueOf(now.minusDays(retentionDays));
+        Timestamp archivedAt = Timestamp.valueOf(now);
+        // Stay below SQLite's limit of 999 bound parameters per statement
+        int limit = Math.max(1, Math.min(batchSize, 900));
+
+        long archived = 0;
+        int batches = 0;
+        while (true) {
+            List<Long> ids = transactionTemplate.execute(status -> archiveBatch(cutoff, archivedAt, limit));
+            if (ids == null || ids.isEmpty()) {
+                break;
+            }
+            cacheInvalidator.recordsChanged(ids);
+            archived += ids.size();
+            batches++;
+            if (ids.size() < limit) {
+                break;
+            }
+        }
+
+        long durationMs = System.currentTimeMillis() - startedAt;
+        if (archived > 0) {
+            log.info("Archived {} deleted records in {} batches ({} ms)", archived, batches, durationMs);
+        }
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("archived", archived);
+        result.put("batches", batches);
+        result.put("cutoff", cutoff.toLocalDateTime());
+        result.put("durationMs", durationMs);
+        result.put("finishedAt", LocalDateTime.now());
+        lastRun = result;
+        return result;
+    }
+
+    private List<Long> archiveBatch(Timestamp cutoff, Timestamp archivedAt, int limit) {
+        List<Long> ids = jdbcTemplate.queryForList(SELECT_BATCH_SQL, Long.class, cutoff, limit);
+        if (ids.isEmpty()) {
+            return ids;
+        }
+
+        String placeholders = String.join(",", Collections.nCopies(ids.size(), "?"));
+        List<Object> insertArgs = new ArrayList<>(ids.size() + 1);
+        insertArgs.add(archivedAt);
+        insertArgs.addAll(ids);
+
+        jdbcTemplate.update(
+            "INSERT INTO insurance_records_archive (" + COLUMNS + ", archived_at) " +
+            "SELECT " + COLUMNS + ", ? FROM insurance_records WHERE id IN (" + placeholders + ")",
+            insertArgs.toArray());
+        jdbcTemplate.update("DELETE FROM insurance_records WHERE id IN (" + placeholders + ")", ids.toArray());
+        return ids;
+    }
+
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getArchivedRecords(Long afterId, Integer limit) {
+        int pageSize = limit != null ? Math.max(1, Math.min(limit, 500)) : 100;
+        return jdbcTemplate.queryForList(LIST_ARCHIVED_SQL, afterId != null ? afterId : 0L, pageSize);
+    }
+
+    // Puts an archived record back into the live table as an active (undeleted) record
+    public void restoreRecord(Long id) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        Long userId = getCurrentUserId();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            int copied = jdbcTemplate.update(
+                "INSERT INTO insurance_records (" + COLUMNS + ") SELECT " + COLUMNS +
+                " FROM insurance_records_archive WHERE id = ?", id);
+            if (copied == 0) {
+                throw new RuntimeException("Archived record not found with id: " + id);
+            }
+            jdbcTemplate.update(
+                "UPDATE insurance_records SET deleted_at = NULL, updated_at = ?, updated_by = ? WHERE id = ?",
+                now, userId, id);
+            jdbcTemplate.update("DELETE FROM insurance_records_archive WHERE id = ?", id);
+        });
+        cacheInvalidator.recordsChanged(List.of(id));
+        auditTrail.record("RESTORE", AuditTrail.INSURANCE_RECORDS, id, null, null);
+        log.info("Restored archived record {}", id);
+    }
+
+    @Transactional(readOnly = true)
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new HashMap<>();
+        status.put("running", running.get());
+        status.put("enabled", enabled);
+        status.put("retentionDays", retentionDays);
+        status.put("archivedCount", jdbcTemplate.queryForObject(
+            "SELECT count(*) FROM insurance_records_archive", Long.class));
+        if (lastRun != null) {
+            status.put("lastRun", lastRun);
+        }
+        return status;
+    }
+
+    private Long getCurrentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserDetailsImpl) {
+            return ((UserDetailsImpl) authentication.getPrincipal()).getId();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,36 @@
+package com.wecaare.insurance.service;
+
+import com.wecaare.insurance.model.InsuranceRecord;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Component;
+import java.util.Collection;
+
+// Writes that bypass Hibernate (JdbcTemplate batches) are invisible to the second-level and query
+// caches and to SingleFlight. Call this after such a write has committed so no stale rows or query
+// results are served.
+@Component
+@RequiredArgsConstructor
+public class RecordCacheInvalidator {
+    
+    private final EntityManagerFactory entityManagerFactory;
+    private final SingleFlight singleFlight;
+    
+    public void recordsChanged(Collection<Long> recordIds) {
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        for (Long id : recordIds) {
+            cache.evictEntityData(InsuranceRecord.class, id);
+        }
+        cache.evictQueryRegions();
+        singleFlight.dataChanged();
+    }
+    
+    public void allRecordsChanged() {
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        cache.evictEntityData(InsuranceRecord.class);
+        cache.evictQueryRegions();
+        singleFlight.dataChanged();
+    }
+}
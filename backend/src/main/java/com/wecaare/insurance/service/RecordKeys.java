@@ -0,0 +1,147 @@
+package com.wecaare.insurance.service;
+
+import org.apache.commons.codec.language.DoubleMetaphone;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Normalized forms of the free-text record fields, so rows typed differently by hand or by repeated
+// Excel imports ("KL-4-AB-1786" / "kl04ab1786", "+91 98470 12345" / "9847012345") compare equal.
+public final class RecordKeys {
+
+    // State, district, optional series letters, number: KL 04 AB 1786. Matched before the separators are
+    // removed, so a one-digit district stays apart from the number when there are no series letters ("KL 7 1234")
+    private static final Pattern PLATE = Pattern.compile("^([A-Z]{2})[^A-Z0-9]*(\\d{1,2})[^A-Z0-9]*([A-Z]{0,3})[^A-Z0-9]*(\\d{1,4})$");
+
+    private static final Set<String> NAME_TITLES = Set.of("MR", "MRS", "MS", "DR", "SRI", "SHRI", "SMT", "KUM");
+
+    private static final DoubleMetaphone METAPHONE = new DoubleMetaphone();
+
+    private RecordKeys() {
+    }
+
+    // Uppercase letters and digits only, with district and number zero-padded when the plate has the usual shape
+    public static String plate(String vehicleNumber) {
+        if (vehicleNumber == null) {
+            return null;
+        }
+        String typed = vehicleNumber.toUpperCase(Locale.ROOT).trim();
+        String plate = typed.replaceAll("[^A-Z0-9]", "");
+        if (plate.isEmpty()) {
+            return null;
+        }
+        Matcher matcher = PLATE.matcher(typed);
+        if (!matcher.matches()) {
+            // Stray punctuation around the plate ("KL-4-AB-1786.")
+            matcher = PLATE.matcher(plate);
+        }
+        if (matcher.matches()) {
+            return matcher.group(1)
+                + String.format("%02d", Integer.parseInt(matcher.group(2)))
+                + matcher.group(3)
+                + String.format("%04d", Integer.parseInt(matcher.group(4)));
+        }
+        return plate;
+    }
+
+    // The 10-digit subscriber number without +91 / 0 prefixes, or null when the number is not a plausible mobile
+    public static String phone(String phoneNumber) {
+        if (phoneNumber == null) {
+            return null;
+        }
+        String digits = phoneNumber.replaceAll("\\D", "");
+        if (digits.length() == 12 && digits.startsWith("91")) {
+            digits = digits.substring(2);
+        } else if (digits.length() == 11 && digits.startsWith("0")) {
+            digits = digits.substring(1);
+        }
+        return digits.length() == 10 ? digits : null;
+    }
+
+    // Uppercase words without punctuation or titles: "Mr. Sunil  k." -> "SUNIL K"
+    public static String name(String customerName) {
+        if (customerName == null) {
+            return null;
+        }
+        List<String> words = new ArrayList<>();
+        for (String word : customerName.toUpperCase(Locale.ROOT).split("[^A-Z]+")) {
+            if (!word.isEmpty() && !NAME_TITLES.contains(word)) {
+                words.add(word);
+            }
+        }
+        return words.isEmpty() ? null : String.join(" ", words);
+    }
+
+    // Sorted phonetic codes of the name's words, ignoring initials, so spelling variants and
+    // swapped word order ("ALI MOHAMMED" / "MUHAMMAD ALI") share a key
+    public static String nameKey(String customerName) {
+        String name = name(customerName);
+        if (name == null) {
+            return null;
+        }
+        List<String> codes = new ArrayList<>();
+        for (String word : name.split(" ")) {
+            if (word.length() > 1) {
+                codes.add(METAPHONE.doubleMetaphone(word));
+            }
+        }
+        if (codes.isEmpty()) {
+            return null;
+        }
+        Collections.sort(codes);
+        return String.join(" ", codes);
+    }
+
+    // Jaro-Winkler similarity, 1.0 for identical strings and 0.0 when nothing matches
+    public static double similarity(String a, String b) {
+        if (a == null || b == null) {
+            return 0.0;
+        }
+        if (a.equals(b)) {
+            return 1.0;
+        }
+        int window = Math.max(0, Math.max(a.length(), b.length()) / 2 - 1);
+        boolean[] aMatched = new boolean[a.length()];
+        boolean[] bMatched = new boolean[b.length()];
+
+        int matches = 0;
+        for (int i = 0; i < a.length(); i++) {
+            int from = Math.max(0, i - window);
+            int to = Math.min(b.length(), i + window + 1);
+            for (int j = from; j < to; j++) {
+                if (!bMatched[j] && a.charAt(i) == b.charAt(j)) {
+                    aMatched[i] = true;
+                    bMatched[j] = true;
+                    matches++;
+                    break;
+                }
+            }
+        }
+        if (matches == 0) {
+            return 0.0;
+        }
+
+        int transpositions = 0;
+        int j = 0;
+        for (int i = 0; i < a.length(); i++) {
+            if (aMatched[i]) {
+                while (!bMatched[j]) {
+                    j++;
+                }
+                if (a.charAt(i) != b.charAt(j)) {
+                    transpositions++;
+                }
+                j++;
+            }
+        }
+
+        double m = matches;
+        double jaro = (m / a.length() + m / b.length() + (m - transpositions / 2.0) / m) / 3.0;
+
+        int prefix = 0;
+        while (prefix < Math.min(4, Math.min(a.length(), b.length())) && a.charAt(prefix) == b.charAt(prefix)) {
+            prefix++;
+        }
+        return jaro + prefix * 0.1 * (1.0 - jaro);
+    }
+}
@@ -0,0 +1,236 @@
+package com.wecaare.insurance.service;
+
+import com.wecaare.insurance.dto.RenewalReminder;
+import com.wecaare.insurance.model.JobCheckpoint;
+import com.wecaare.insurance.notification.Notifier;
+import com.wecaare.insurance.repository.JobCheckpointRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RenewalReminderService {
+
+    private static final String JOB_NAME = "renewal-reminder";
+
+    // Keyset scan over pending policies in the reminder window, in (expiry_date, id) order: the live
+    // expiry index ends in id (SQLite rowid, PostgreSQL V7), so each chunk starts where the last one
+    // stopped and rows come out of the index already sorted
+    private static final String SELECT_CHUNK_SQL =
+        "SELECT id, customer_name, phone_number, vehicle_number, company, expiry_date " +
+        "FROM insurance_records WHERE deleted_at IS NULL " +
+        "AND (renewal_notified IS NULL OR renewal_notified = ?) " +
+        "AND expiry_date IS NOT NULL AND expiry_date >= ? AND expiry_date <= ? " +
+        "AND (expiry_date, id) > (?, ?) ORDER BY expiry_date ASC, id ASC LIMIT ?";
+
+    private static final String MARK_NOTIFIED_SQL =
+        "UPDATE insurance_records SET renewal_notified = ?, notified_at = ?, notified_notes = ?, updated_at = ? " +
+        "WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final JobCheckpointRepository checkpointRepository;
+    private final Notifier notifier;
+    private final RecordCacheInvalidator cacheInvalidator;
+
+    @Value("${renewal.reminder.enabled:false}")
+    private boolean enabled;
+
+    @Value("${renewal.reminder.days-ahead:30}")
+    private int daysAhead;
+
+    @Value("${renewal.reminder.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${renewal.reminder.threads:8}")
+    private int threads;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private ExecutorService executor;
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger counter = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(Math.max(1, threads), runnable -> {
+            Thread thread = new Thread(runnable, "renewal-notifier-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    @Scheduled(cron = "${renewal.reminder.cron:0 0 8 * * *}")
+    public void scheduledRun() {
+        if (!enabled) {
+            return;
+        }
+        runReminders();
+    }
+
+    public Map<String, Object> runReminders() {
+        if (!running.compareAndSet(false, true)) {
+            throw new RuntimeException("Renewal reminder job is already running");
+        }
+        try {
+            return processAll();
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private Map<String, Object> processAll() {
+        LocalDate today = LocalDate.now();
+        String runKey = today.toString();
+        String endDate = today.plusDays(daysAhead).toString();
+
+        JobCheckpoint checkpoint = checkpointRepository.findById(JOB_NAME).orElse(null);
+        boolean resume = checkpoint != null
+            && runKey.equals(checkpoint.getRunKey())
+            && !JobCheckpoint.STATUS_COMPLETED.equals(checkpoint.getStatus());
+
+        if (resume) {
+            log.info("Resuming renewal reminders for {} after record {}", runKey, checkpoint.getLastRecordId());
+        } else {
+            checkpoint = new JobCheckpoint(JOB_NAME, runKey, 0L, null, JobCheckpoint.STATUS_RUNNING, 0L, 0L, null);
+        }
+        if (checkpoint.getLastSortKey() == null) {
+            // Fresh run, or a checkpoint from before the expiry keyset: start at the window; rows
+            // already notified are filtered out anyway
+            checkpoint.setLastSortKey(runKey);
+            checkpoint.setLastRecordId(0L);
+        }
+        checkpoint.setStatus(JobCheckpoint.STATUS_RUNNING);
+        checkpoint = checkpointRepository.save(checkpoint);
+
+        long startedAt = System.currentTimeMillis();
+        try {
+            while (true) {
+                // The stored expiry_date text, not the parsed date, is the next key: a value with a
+                // time suffix sorts after its bare date and would otherwise be read again
+                String[] lastSortKey = new String[1];
+                List<RenewalReminder> chunk = jdbcTemplate.query(SELECT_CHUNK_SQL,
+                    (rs, rowNum) -> {
+                        lastSortKey[0] = rs.getString("expiry_date");
+                        return new RenewalReminder(
+                            rs.getLong("id"),
+                            rs.getString("customer_name"),
+                            rs.getString("phone_number"),
+                            rs.getString("vehicle_number"),
+                            rs.getString("company"),
+                            LocalDate.parse(lastSortKey[0].substring(0, 10)));
+                    },
+                    false, runKey, endDate, checkpoint.getLastSortKey(), checkpoint.getLastRecordId(), chunkSize);
+
+                if (chunk.isEmpty()) {
+                    break;
+                }
+                checkpoint = processChunk(chunk, lastSortKey[0], checkpoint);
+            }
+
+            checkpoint.setStatus(JobCheckpoint.STATUS_COMPLETED);
+            checkpoint = checkpointRepository.save(checkpoint);
+        } catch (RuntimeException e) {
+            checkpoint.setStatus(JobCheckpoint.STATUS_FAILED);
+            checkpointRepository.save(checkpoint);
+            log.error("Renewal reminder job failed after record {}", checkpoint.getLastRecordId(), e);
+            throw e;
+        }
+
+        long durationMs = System.currentTimeMillis() - startedAt;
+        log.info("Renewal reminders completed: {} sent, {} failed in {} ms",
+            checkpoint.getProcessedCount(), checkpoint.getFailedCount(), durationMs);
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("runKey", runKey);
+        result.put("channel", notifier.getChannel());
+        result.put("sent", checkpoint.getProcessedCount());
+        result.put("failed", checkpoint.getFailedCount());
+        result.put("resumed", resume);
+        result.put("durationMs", durationMs);
+        return result;
+    }
+
+    private JobCheckpoint processChunk(List<RenewalReminder> chunk, String lastSortKey, JobCheckpoint checkpoint) {
+        List<Future<Boolean>> futures = new ArrayList<>(chunk.size());
+        for (RenewalReminder reminder : chunk) {
+            futures.add(executor.submit(() -> send(reminder)));
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp timestamp = Timestamp.valueOf(now);
+        String notes = "Automatic renewal reminder via " + notifier.getChannel();
+        List<Object[]> updates = new ArrayList<>(chunk.size());
+
+        for (int i = 0; i < chunk.size(); i++) {
+            if (awaitResult(futures.get(i))) {
+                updates.add(new Object[] { true, timestamp, notes, timestamp, chunk.get(i).getRecordId() });
+            }
+        }
+
+        long failed = chunk.size() - updates.size();
+        checkpoint.setLastRecordId(chunk.get(chunk.size() - 1).getRecordId());
+        checkpoint.setLastSortKey(lastSortKey);
+        checkpoint.setProcessedCount(checkpoint.getProcessedCount() + updates.size());
+        checkpoint.setFailedCount(checkpoint.getFailedCount() + failed);
+
+        // Flag updates and the checkpoint commit together, so a crash never loses or repeats a committed chunk
+        JobCheckpoint saved = transactionTemplate.execute(status -> {
+            if (!updates.isEmpty()) {
+                jdbcTemplate.batchUpdate(MARK_NOTIFIED_SQL, updates);
+            }
+            return checkpointRepository.save(checkpoint);
+        });
+        if (!updates.isEmpty()) {
+            cacheInvalidator.recordsChanged(updates.stream().map(row -> (Long) row[4]).toList());
+        }
+        return saved;
+    }
+
+    private boolean send(RenewalReminder reminder) {
+        try {
+            notifier.send(reminder);
+            return true;
+        } catch (Exception e) {
+            log.warn("Renewal reminder for record {} failed: {}", reminder.getRecordId(), e.getMessage());
+            return false;
+        }
+    }
+
+    private boolean awaitResult(Future<Boolean> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Renewal reminder job interrupted");
+        } catch (ExecutionException e) {
+            return false;
+        }
+    }
+
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new HashMap<>();
+        status.put("running", running.get());
+        status.put("enabled", enabled);
+        checkpointRepository.findById(JOB_NAME).ifPresent(checkpoint -> status.put("checkpoint", checkpoint));
+        return status;
+    }
+}
@@ -0,0 +1,106 @@
+package com.wecaare.insurance.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// Collapses concurrent identical reads into one query: the first caller for a key runs it in a read-only
+// transaction, callers arriving while it runs wait for and share that result. Nothing is kept once the
+// call finishes, and the key includes a data version bumped after every committed write to insurance_records,
+// so a caller that starts after a write never joins a query that started before it.
+// Shared results go to several requests at once and must not be modified.
+@Component
+public class SingleFlight {
+
+    private final TransactionTemplate readOnlyTransaction;
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<List<Object>, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong dataVersion = new AtomicLong();
+
+    public SingleFlight(PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T read(String method, Supplier<T> query, Object... args) {
+        // Inside a write transaction the caller must see its own uncommitted changes
+        if (TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return query.get();
+        }
+        List<Object> key = List.of(method, dataVersion.get(), Arrays.asList(args));
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, flight);
+
+        if (existing != null) {
+            count(method, "joined");
+            return (T) await(existing);
+        }
+
+        count(method, "executed");
+        try {
+            T result = readOnlyTransaction.execute(status -> query.get());
+            flight.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    // Call from every write to insurance_records; takes effect when the current transaction commits
+    public void dataChanged() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dataVersion.incrementAndGet();
+                }
+            });
+        } else {
+            dataVersion.incrementAndGet();
+        }
+    }
+
+    public long getDataVersion() {
+        return dataVersion.get();
+    }
+
+    private static Object await(CompletableFuture<Object> flight) {
+        try {
+            return flight.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for a shared query");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    private void count(String method, String result) {
+        Counter.builder("singleflight.calls")
+            .tag("method", method)
+            .tag("result", result)
+            .register(meterRegistry)
+            .increment();
+    }
+}
@@ -0,0 +1,57 @@
+-- Baseline schema (PostgreSQL translation of backend/config/schema.sql).
+-- Existing databases are baselined at this version and skip it.
+
+CREATE TABLE IF NOT EXISTS users (
+  id BIGSERIAL PRIMARY KEY,
+  username VARCHAR(255) UNIQUE NOT NULL,
+  password_hash VARCHAR(255) NOT NULL,
+  role VARCHAR(20) NOT NULL CHECK (role IN ('staff', 'admin')),
+  email VARCHAR(255) UNIQUE,
+  created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+  updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+  last_login TIMESTAMP,
+  is_active BOOLEAN DEFAULT TRUE
+);
+
+CREATE TABLE IF NOT EXISTS insurance_records (
+  id BIGSERIAL PRIMARY KEY,
+  uuid VARCHAR(36) UNIQUE NOT NULL,
+  customer_name VARCHAR(255),
+  phone_number VARCHAR(255),
+  vehicle_number VARCHAR(255),
+  company VARCHAR(255),
+  policy_start_date DATE,
+  expiry_date DATE,
+  total_premium DOUBLE PRECISION,
+  total_commission DOUBLE PRECISION,
+  customer_discounted_premium DOUBLE PRECISION,
+  admin_details_added BOOLEAN DEFAULT FALSE,
+  renewal_notified BOOLEAN DEFAULT FALSE,
+  notified_at TIMESTAMP,
+  notified_by BIGINT,
+  notified_notes TEXT,
+  created_by BIGINT REFERENCES users(id),
+  updated_by BIGINT REFERENCES users(id),
+  created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+  updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+  deleted_at TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS audit_logs (
+  id BIGSERIAL PRIMARY KEY,
+  user_id BIGINT REFERENCES users(id),
+  action VARCHAR(255) NOT NULL,
+  table_name VARCHAR(255),
+  record_id BIGINT,
+  old_values TEXT,
+  new_values TEXT,
+  ip_address VARCHAR(64),
+  created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_insurance_customer_name ON insurance_records(customer_name);
+CREATE INDEX IF NOT EXISTS idx_insurance_vehicle ON insurance_records(vehicle_number);
+CREATE INDEX IF NOT EXISTS idx_insurance_expiry ON insurance_records(expiry_date);
+CREATE INDEX IF NOT EXISTS idx_insurance_created_at ON insurance_records(created_at);
+CREATE INDEX IF NOT EXISTS idx_audit_user ON audit_logs(user_id);
+CREATE INDEX IF NOT EXISTS idx_audit_created ON audit_logs(created_at);
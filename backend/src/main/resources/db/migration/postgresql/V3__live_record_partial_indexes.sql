@@ -0,0 +1,12 @@
+-- Every repository query filters on deleted_at IS NULL, so index only live rows.
+
+-- Listing and search: newest first
+CREATE INDEX IF NOT EXISTS idx_live_records_updated ON insurance_records(updated_at DESC, id DESC) WHERE deleted_at IS NULL;
+
+-- findExpiringPolicies and the renewal reminder job: range search on expiry_date
+CREATE INDEX IF NOT EXISTS idx_live_records_expiry ON insurance_records(expiry_date) INCLUDE (renewal_notified) WHERE deleted_at IS NULL;
+
+-- countByYearAndMonth and countByDeletedAtIsNull: index-only scans
+CREATE INDEX IF NOT EXISTS idx_live_records_policy_start ON insurance_records(policy_start_date) WHERE deleted_at IS NULL;
+
+ANALYZE insurance_records;
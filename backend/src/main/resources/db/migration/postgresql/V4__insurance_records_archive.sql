@@ -0,0 +1,29 @@
+-- Cold storage for records soft-deleted longer than archive.retention-days.
+-- Rows keep their original id so a restore puts them back unchanged.
+CREATE TABLE IF NOT EXISTS insurance_records_archive (
+  id BIGINT PRIMARY KEY,
+  uuid VARCHAR(36) NOT NULL,
+  customer_name VARCHAR(255),
+  phone_number VARCHAR(255),
+  vehicle_number VARCHAR(255),
+  company VARCHAR(255),
+  policy_start_date DATE,
+  expiry_date DATE,
+  total_premium DOUBLE PRECISION,
+  total_commission DOUBLE PRECISION,
+  customer_discounted_premium DOUBLE PRECISION,
+  admin_details_added BOOLEAN DEFAULT FALSE,
+  renewal_notified BOOLEAN DEFAULT FALSE,
+  notified_at TIMESTAMP,
+  notified_by BIGINT,
+  notified_notes TEXT,
+  created_by BIGINT,
+  updated_by BIGINT,
+  created_at TIMESTAMP,
+  updated_at TIMESTAMP,
+  deleted_at TIMESTAMP,
+  archived_at TIMESTAMP
+);
+
+-- The archival job looks up old soft-deleted rows; only deleted rows are indexed
+CREATE INDEX IF NOT EXISTS idx_deleted_records ON insurance_records(deleted_at) WHERE deleted_at IS NOT NULL;
@@ -0,0 +1,17 @@
+-- Audit queries page over (created_at, id) newest first; the user and record filters get
+-- matching composite indexes so each page is read in order without a sort.
+DROP INDEX IF EXISTS idx_audit_created;
+CREATE INDEX IF NOT EXISTS idx_audit_created ON audit_logs(created_at, id);
+DROP INDEX IF EXISTS idx_audit_user;
+CREATE INDEX IF NOT EXISTS idx_audit_user ON audit_logs(user_id, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_audit_record ON audit_logs(table_name, record_id, created_at, id);
+
+-- Daily per-user/action counts of audit entries removed by the retention job
+CREATE TABLE IF NOT EXISTS audit_log_summaries (
+  summary_date VARCHAR(10) NOT NULL,
+  user_id BIGINT NOT NULL DEFAULT 0,
+  table_name VARCHAR(255) NOT NULL DEFAULT '',
+  action VARCHAR(255) NOT NULL,
+  entry_count BIGINT NOT NULL,
+  PRIMARY KEY (summary_date, user_id, table_name, action)
+);
@@ -0,0 +1,18 @@
+-- Customer view: all policies of one phone number in a single index lookup.
+-- normalized_phone holds the 10-digit number without +91 / 0 prefixes (RecordKeys.phone); the application
+-- keeps it in step on every write, NULL when the number is missing or not a plausible mobile.
+ALTER TABLE insurance_records ADD COLUMN IF NOT EXISTS normalized_phone VARCHAR(10);
+ALTER TABLE insurance_records_archive ADD COLUMN IF NOT EXISTS normalized_phone VARCHAR(10);
+
+UPDATE insurance_records
+SET normalized_phone = substring(regexp_replace(phone_number, '\D', '', 'g') from '^(?:91|0)?(\d{10})$')
+WHERE phone_number IS NOT NULL;
+
+UPDATE insurance_records_archive
+SET normalized_phone = substring(regexp_replace(phone_number, '\D', '', 'g') from '^(?:91|0)?(\d{10})$')
+WHERE phone_number IS NOT NULL;
+
+-- findByNormalizedPhoneAndDeletedAtIsNull: live rows only, like the other record indexes
+CREATE INDEX IF NOT EXISTS idx_live_records_customer_phone ON insurance_records(normalized_phone) WHERE deleted_at IS NULL;
+
+ANALYZE insurance_records;
@@ -0,0 +1,7 @@
+-- Renewal reminders resume from (expiry_date, id) rather than id alone; the sort column value of the
+-- last committed row is kept next to its id.
+ALTER TABLE job_checkpoints ADD COLUMN IF NOT EXISTS last_sort_key VARCHAR(50);
+
+-- The expiry index gains id as its second key so that order comes straight out of the index
+DROP INDEX IF EXISTS idx_live_records_expiry;
+CREATE INDEX IF NOT EXISTS idx_live_records_expiry ON insurance_records(expiry_date, id) INCLUDE (renewal_notified) WHERE deleted_at IS NULL;
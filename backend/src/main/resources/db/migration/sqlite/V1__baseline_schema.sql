@@ -0,0 +1,63 @@
+-- Baseline schema (same as backend/config/schema.sql at the time migrations were introduced).
+-- Existing databases are baselined at this version and skip it.
+
+CREATE TABLE IF NOT EXISTS users (
+  id INTEGER PRIMARY KEY AUTOINCREMENT,
+  username TEXT UNIQUE NOT NULL,
+  password_hash TEXT NOT NULL,
+  role TEXT NOT NULL CHECK (role IN ('staff', 'admin')),
+  email TEXT UNIQUE,
+  created_at DATETIME DEFAULT CURRENT_TIMESTAMP,
+  updated_at DATETIME DEFAULT CURRENT_TIMESTAMP,
+  last_login DATETIME,
+  is_active BOOLEAN DEFAULT 1
+);
+
+CREATE TABLE IF NOT EXISTS insurance_records (
+  id INTEGER PRIMARY KEY AUTOINCREMENT,
+  uuid TEXT UNIQUE NOT NULL,
+  customer_name TEXT,
+  phone_number TEXT,
+  vehicle_number TEXT,
+  company TEXT,
+  policy_start_date DATE,
+  expiry_date DATE,
+  total_premium REAL,
+  total_commission REAL,
+  customer_discounted_premium REAL,
+  admin_details_added BOOLEAN DEFAULT 0,
+  renewal_notified BOOLEAN DEFAULT 0,
+  notified_at DATETIME,
+  notified_by INTEGER,
+  notified_notes TEXT,
+  created_by INTEGER,
+  updated_by INTEGER,
+  created_at DATETIME DEFAULT CURRENT_TIMESTAMP,
+  updated_at DATETIME DEFAULT CURRENT_TIMESTAMP,
+  deleted_at DATETIME,
+  FOREIGN KEY (created_by) REFERENCES users(id),
+  FOREIGN KEY (updated_by) REFERENCES users(id)
+);
+
+CREATE TABLE IF NOT EXISTS audit_logs (
+  id INTEGER PRIMARY KEY AUTOINCREMENT,
+  user_id INTEGER,
+  action TEXT NOT NULL,
+  table_name TEXT,
+  record_id INTEGER,
+  old_values TEXT,
+  new_values TEXT,
+  ip_address TEXT,
+  created_at DATETIME DEFAULT CURRENT_TIMESTAMP,
+  FOREIGN KEY (user_id) REFERENCES users(id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_insurance_uuid ON insurance_records(uuid);
+CREATE INDEX IF NOT EXISTS idx_insurance_customer_name ON insurance_records(customer_name);
+CREATE INDEX IF NOT EXISTS idx_insurance_vehicle ON insurance_records(vehicle_number);
+CREATE INDEX IF NOT EXISTS idx_insurance_expiry ON insurance_records(expiry_date);
+CREATE INDEX IF NOT EXISTS idx_insurance_created_at ON insurance_records(created_at);
+CREATE INDEX IF NOT EXISTS idx_insurance_admin_status ON insurance_records(admin_details_added);
+CREATE INDEX IF NOT EXISTS idx_users_username ON users(username);
+CREATE INDEX IF NOT EXISTS idx_audit_user ON audit_logs(user_id);
+CREATE INDEX IF NOT EXISTS idx_audit_created ON audit_logs(created_at);
@@ -0,0 +1,21 @@
+-- Resume point for scheduled batch jobs (renewal reminders)
+CREATE TABLE IF NOT EXISTS job_checkpoints (
+  job_name VARCHAR(100) PRIMARY KEY,
+  run_key VARCHAR(50),
+  last_record_id BIGINT,
+  status VARCHAR(20),
+  processed_count BIGINT,
+  failed_count BIGINT,
+  updated_at TIMESTAMP
+);
+
+-- Revoked JWTs (logout), keyed by SHA-256 of the token
+CREATE TABLE IF NOT EXISTS revoked_tokens (
+  token_hash VARCHAR(64) PRIMARY KEY,
+  user_id BIGINT,
+  expires_at TIMESTAMP,
+  revoked_at TIMESTAMP
+);
+
+-- The Bloom filter rebuild (expires_at > now) and the expired-token purge (expires_at <= now) both select on expiry
+CREATE INDEX IF NOT EXISTS idx_revoked_tokens_expires ON revoked_tokens(expires_at);
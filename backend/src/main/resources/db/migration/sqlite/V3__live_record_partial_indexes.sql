@@ -0,0 +1,24 @@
+-- Every repository query filters on deleted_at IS NULL, so index only live rows.
+
+-- Listing and search: matches the ORDER BY expression of findByDeletedAtIsNullOrderByUpdatedAtDesc
+-- and searchRecords exactly, so rows come out of the index already sorted (no temp B-tree)
+CREATE INDEX IF NOT EXISTS idx_live_records_updated ON insurance_records(
+  (CASE
+    WHEN typeof(updated_at) = 'integer' THEN datetime(updated_at/1000, 'unixepoch')
+    WHEN typeof(updated_at) = 'text' THEN updated_at
+    ELSE '1970-01-01 00:00:00'
+  END) DESC,
+  id DESC
+) WHERE deleted_at IS NULL;
+
+-- findExpiringPolicies and the renewal reminder job: range search on expiry_date
+CREATE INDEX IF NOT EXISTS idx_live_records_expiry ON insurance_records(expiry_date) WHERE deleted_at IS NULL;
+
+-- countByYearAndMonth and countByDeletedAtIsNull: covering, so neither touches the table
+CREATE INDEX IF NOT EXISTS idx_live_records_policy_start ON insurance_records(policy_start_date, deleted_at) WHERE deleted_at IS NULL;
+
+-- Superseded: duplicate of the UNIQUE constraint's index, and a boolean no query filters on
+DROP INDEX IF EXISTS idx_insurance_uuid;
+DROP INDEX IF EXISTS idx_insurance_admin_status;
+
+ANALYZE;
@@ -0,0 +1,29 @@
+-- Cold storage for records soft-deleted longer than archive.retention-days.
+-- Rows keep their original id so a restore puts them back unchanged.
+CREATE TABLE IF NOT EXISTS insurance_records_archive (
+  id INTEGER PRIMARY KEY,
+  uuid TEXT NOT NULL,
+  customer_name TEXT,
+  phone_number TEXT,
+  vehicle_number TEXT,
+  company TEXT,
+  policy_start_date DATE,
+  expiry_date DATE,
+  total_premium REAL,
+  total_commission REAL,
+  customer_discounted_premium REAL,
+  admin_details_added BOOLEAN DEFAULT 0,
+  renewal_notified BOOLEAN DEFAULT 0,
+  notified_at DATETIME,
+  notified_by INTEGER,
+  notified_notes TEXT,
+  created_by INTEGER,
+  updated_by INTEGER,
+  created_at DATETIME,
+  updated_at DATETIME,
+  deleted_at DATETIME,
+  archived_at DATETIME
+);
+
+-- The archival job looks up old soft-deleted rows; only deleted rows are indexed
+CREATE INDEX IF NOT EXISTS idx_deleted_records ON insurance_records(deleted_at) WHERE deleted_at IS NOT NULL;
@@ -0,0 +1,15 @@
+-- Audit queries page over (created_at, id) newest first. idx_audit_created already covers that order
+-- (the rowid is the id); idx_audit_user is widened so a per-user page is read in order without a sort.
+DROP INDEX IF EXISTS idx_audit_user;
+CREATE INDEX IF NOT EXISTS idx_audit_user ON audit_logs(user_id, created_at);
+CREATE INDEX IF NOT EXISTS idx_audit_record ON audit_logs(table_name, record_id, created_at);
+
+-- Daily per-user/action counts of audit entries removed by the retention job
+CREATE TABLE IF NOT EXISTS audit_log_summaries (
+  summary_date TEXT NOT NULL,
+  user_id INTEGER NOT NULL DEFAULT 0,
+  table_name TEXT NOT NULL DEFAULT '',
+  action TEXT NOT NULL,
+  entry_count INTEGER NOT NULL,
+  PRIMARY KEY (summary_date, user_id, table_name, action)
+);
@@ -0,0 +1,38 @@
+-- Customer view: all policies of one phone number in a single index lookup.
+-- normalized_phone holds the 10-digit number without +91 / 0 prefixes (RecordKeys.phone); the application
+-- keeps it in step on every write, NULL when the number is missing or not a plausible mobile.
+ALTER TABLE insurance_records ADD COLUMN normalized_phone TEXT;
+ALTER TABLE insurance_records_archive ADD COLUMN normalized_phone TEXT;
+
+-- Backfill in two steps, as SQLite has no regexp_replace: strip the separators numbers are typed with,
+-- then keep only all-digit values of a valid length
+UPDATE insurance_records
+SET normalized_phone = replace(replace(replace(replace(replace(replace(phone_number, ' ', ''), '-', ''), '+', ''), '(', ''), ')', ''), '.', '')
+WHERE phone_number IS NOT NULL;
+
+UPDATE insurance_records
+SET normalized_phone = CASE
+    WHEN normalized_phone GLOB '*[^0-9]*' THEN NULL
+    WHEN length(normalized_phone) = 10 THEN normalized_phone
+    WHEN length(normalized_phone) = 12 AND normalized_phone GLOB '91*' THEN substr(normalized_phone, 3)
+    WHEN length(normalized_phone) = 11 AND normalized_phone GLOB '0*' THEN substr(normalized_phone, 2)
+  END
+WHERE normalized_phone IS NOT NULL;
+
+UPDATE insurance_records_archive
+SET normalized_phone = replace(replace(replace(replace(replace(replace(phone_number, ' ', ''), '-', ''), '+', ''), '(', ''), ')', ''), '.', '')
+WHERE phone_number IS NOT NULL;
+
+UPDATE insurance_records_archive
+SET normalized_phone = CASE
+    WHEN normalized_phone GLOB '*[^0-9]*' THEN NULL
+    WHEN length(normalized_phone) = 10 THEN normalized_phone
+    WHEN length(normalized_phone) = 12 AND normalized_phone GLOB '91*' THEN substr(normalized_phone, 3)
+    WHEN length(normalized_phone) = 11 AND normalized_phone GLOB '0*' THEN substr(normalized_phone, 2)
+  END
+WHERE normalized_phone IS NOT NULL;
+
+-- findByNormalizedPhoneAndDeletedAtIsNull: live rows only, like the other record indexes
+CREATE INDEX IF NOT EXISTS idx_live_records_customer_phone ON insurance_records(normalized_phone) WHERE deleted_at IS NULL;
+
+ANALYZE;
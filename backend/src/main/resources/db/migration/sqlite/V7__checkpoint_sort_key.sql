@@ -0,0 +1,4 @@
+-- Renewal reminders resume from (expiry_date, id) rather than id alone; the sort column value of the
+-- last committed row is kept next to its id. idx_live_records_expiry already ends in the rowid (id),
+-- so it serves that order as is.
+ALTER TABLE job_checkpoints ADD COLUMN last_sort_key VARCHAR(50);
@@ -0,0 +1,6 @@
+-- "Revoke all tokens" of a user (admin): tokens of that user issued at or before revoked_before are rejected.
+-- A row can be purged once revoked_before is older than the longest token lifetime.
+CREATE TABLE IF NOT EXISTS user_token_revocations (
+  user_id BIGINT PRIMARY KEY,
+  revoked_before TIMESTAMP NOT NULL
+);
@@ -0,0 +1,80 @@
+package com.wecaare.insurance.audit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@Timeout(10)
+class AuditLogWriterTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final AuditLogWriter writer = new AuditLogWriter(jdbcTemplate, new TransactionTemplate(mock(PlatformTransactionManager.class)));
+
+    AuditLogWriterTest() {
+        ReflectionTestUtils.setField(writer, "capacity", 1000);
+        ReflectionTestUtils.setField(writer, "batchSize", 200);
+        // Long enough that only full batches and shutdown trigger a flush
+        ReflectionTestUtils.setField(writer, "flushIntervalMs", 60_000L);
+        ReflectionTestUtils.setField(writer, "offerTimeoutMs", 0L);
+        ReflectionTestUtils.setField(writer, "shutdownTimeoutMs", 5_000L);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shutdownDrainsEveryQueuedEventInBatches() {
+        writer.start();
+        for (int i = 0; i < 450; i++) {
+            assertThat(writer.publish(event(i))).isTrue();
+        }
+        writer.shutdown();
+
+        ArgumentCaptor<List<Object[]>> batches = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, atLeastOnce()).batchUpdate(anyString(), batches.capture());
+        assertThat(batches.getAllValues()).allMatch(batch -> batch.size() <= 200);
+        assertThat(batches.getAllValues().stream().mapToInt(List::size).sum()).isEqualTo(450);
+        assertThat(writer.getStats()).containsEntry("written", 450L).containsEntry("queued", 0);
+    }
+
+    @Test
+    void dropsEventsOnceTheQueueIsFull() {
+        ReflectionTestUtils.setField(writer, "capacity", 3);
+        // Writer not started: nothing drains the queue
+        for (int i = 0; i < 3; i++) {
+            assertThat(writer.publish(event(i))).isTrue();
+        }
+
+        assertThat(writer.publish(event(3))).isFalse();
+        assertThat(writer.getStats()).containsEntry("dropped", 1L).containsEntry("queued", 3);
+    }
+
+    @Test
+    void countsEventsOfAFailedBatch() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenThrow(new IllegalStateException("disk full"));
+        writer.start();
+        for (int i = 0; i < 5; i++) {
+            writer.publish(event(i));
+        }
+        writer.shutdown();
+
+        assertThat(writer.getStats()).containsEntry("failed", 5L).containsEntry("written", 0L);
+    }
+
+    private static AuditEvent event(int i) {
+        return new AuditEvent(1L, "UPDATE", "insurance_records", (long) i, null, "{}", "127.0.0.1", LocalDateTime.now());
+    }
+}
@@ -0,0 +1,58 @@
+package com.wecaare.insurance.audit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wecaare.insurance.support.ProxiedTomcat;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+// Audit rows must carry the client's address for the compliance queries, not the proxy's
+class AuditTrailClientAddressTest {
+
+    private final AuditLogWriter writer = mock(AuditLogWriter.class);
+    private final AuditTrail auditTrail = new AuditTrail(writer, new ObjectMapper());
+    private ProxiedTomcat tomcat;
+
+    @BeforeEach
+    void start() throws IOException {
+        // Records an event from inside a request, bound to the thread as DispatcherServlet would
+        tomcat = ProxiedTomcat.start(new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest request, HttpServletResponse response) {
+                RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+                try {
+                    auditTrail.record("UPDATE", AuditTrail.INSURANCE_RECORDS, 42L, null, null);
+                } finally {
+                    RequestContextHolder.resetRequestAttributes();
+                }
+            }
+        });
+    }
+
+    @AfterEach
+    void stop() {
+        tomcat.close();
+    }
+
+    @Test
+    void recordsTheForwardedClientAddress() throws Exception {
+        tomcat.get("203.0.113.7");
+
+        ArgumentCaptor<AuditEvent> event = ArgumentCaptor.forClass(AuditEvent.class);
+        verify(writer).publish(event.capture());
+        assertThat(event.getValue().getIpAddress()).isEqualTo("203.0.113.7");
+        assertThat(event.getValue().getRecordId()).isEqualTo(42L);
+    }
+}
@@ -0,0 +1,172 @@
+package com.wecaare.insurance.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.wecaare.insurance.controller.InsuranceRecordController;
+import com.wecaare.insurance.model.InsuranceRecord;
+import com.wecaare.insurance.service.InsuranceRecordService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.StringHttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ColumnarRecordsHttpMessageConverterTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+        .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+        .build();
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        InsuranceRecordService service = mock(InsuranceRecordService.class);
+        when(service.getAllRecords()).thenReturn(List.of(
+            record(7L, "ANIL", "9847012345", LocalDate.of(2025, 3, 1)),
+            record(9L, "PRIYA", null, null)));
+        when(service.getExpiringPolicies(30)).thenReturn(List.of(
+            Map.of("id", 7L, "customerName", "ANIL"),
+            Map.of("id", 9L, "customerName", "PRIYA")));
+
+        // The record-relevant defaults, in the application's order (CBOR is registered because
+        // jackson-dataformat-cbor is on the classpath), then WebConfig
+        List<HttpMessageConverter<?>> converters = new ArrayList<>(List.of(
+            new StringHttpMessageConverter(),
+            new MappingJackson2HttpMessageConverter(objectMapper),
+            new MappingJackson2CborHttpMessageConverter()));
+        new WebConfig(objectMapper).extendMessageConverters(converters);
+
+        mockMvc = MockMvcBuilders.standaloneSetup(new InsuranceRecordController(service), new OtherMapController())
+            .setMessageConverters(converters.toArray(new HttpMessageConverter<?>[0]))
+            .build();
+    }
+
+    @Test
+    void columnarJsonWritesOneArrayPerField() throws Exception {
+        mockMvc.perform(get("/insurance-records").accept(ColumnarRecordsHttpMessageConverter.COLUMNAR_JSON))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith(ColumnarRecordsHttpMessageConverter.COLUMNAR_JSON))
+            .andExpect(jsonPath("$.total").value(2))
+            .andExpect(jsonPath("$.records.id", contains(7, 9)))
+            .andExpect(jsonPath("$.records.customerName", contains("ANIL", "PRIYA")))
+            // Nulls stay in place so the columns line up
+            .andExpect(jsonPath("$.records.phoneNumber", contains("9847012345", null)))
+            .andExpect(jsonPath("$.records.expiryDate", contains("2025-03-01", null)));
+    }
+
+    @Test
+    void columnarCborDecodesToTheSameColumns() throws Exception {
+        byte[] body = mockMvc.perform(get("/insurance-records").accept(ColumnarRecordsHttpMessageConverter.COLUMNAR_CBOR))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith(ColumnarRecordsHttpMessageConverter.COLUMNAR_CBOR))
+            .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode tree = new ObjectMapper(new CBORFactory()).readTree(body);
+        assertThat(tree.get("total").asInt()).isEqualTo(2);
+        assertThat(tree.get("records").get("id").isArray()).isTrue();
+        assertThat(tree.get("records").get("id").get(1).asLong()).isEqualTo(9L);
+        assertThat(tree.get("records").get("customerName").get(0).asText()).isEqualTo("ANIL");
+    }
+
+    // Every property of the row form, in the same order
+    @Test
+    void columnsMatchTheRowFormProperties() throws Exception {
+        JsonNode rows = objectMapper.readTree(mockMvc.perform(get("/insurance-records").accept(MediaType.APPLICATION_JSON))
+            .andReturn().getResponse().getContentAsByteArray());
+        JsonNode columns = objectMapper.readTree(mockMvc.perform(get("/insurance-records").accept(ColumnarRecordsHttpMessageConverter.COLUMNAR_JSON))
+            .andReturn().getResponse().getContentAsByteArray());
+
+        List<String> rowFields = new ArrayList<>();
+        rows.get("records").get(0).fieldNames().forEachRemaining(rowFields::add);
+        List<String> columnFields = new ArrayList<>();
+        columns.get("records").fieldNames().forEachRemaining(columnFields::add);
+        assertThat(columnFields).isEqualTo(rowFields).doesNotContain("normalizedPhone");
+    }
+
+    @Test
+    void expiringPoliciesAreColumnarToo() throws Exception {
+        mockMvc.perform(get("/insurance-records/expiring").accept(ColumnarRecordsHttpMessageConverter.COLUMNAR_JSON))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith(ColumnarRecordsHttpMessageConverter.COLUMNAR_JSON))
+            .andExpect(jsonPath("$.dateRange.days").value(30))
+            .andExpect(jsonPath("$.records.customerName", contains("ANIL", "PRIYA")));
+    }
+
+    // Only the record list responses have a columnar form: another map with "records" stays row-oriented
+    // (Jackson writes any +json type as plain JSON) and has no CBOR form at all
+    @Test
+    void otherEndpointsAreNeverColumnar() throws Exception {
+        mockMvc.perform(get("/other").accept(ColumnarRecordsHttpMessageConverter.COLUMNAR_JSON))
+            .andExpect(jsonPath("$.records[0].id").value(1));
+        mockMvc.perform(get("/other").accept(ColumnarRecordsHttpMessageConverter.COLUMNAR_CBOR))
+            .andExpect(status().isNotAcceptable());
+    }
+
+    @Test
+    void plainJsonStaysRowOriented() throws Exception {
+        mockMvc.perform(get("/insurance-records").accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+            .andExpect(jsonPath("$.records[0].id").value(7))
+            .andExpect(jsonPath("$.records[1].customerName").value("PRIYA"));
+    }
+
+    @Test
+    void wildcardAcceptStaysRowOriented() throws Exception {
+        mockMvc.perform(get("/insurance-records").accept(MediaType.ALL))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+            .andExpect(jsonPath("$.records[0].id").value(7));
+    }
+
+    @Test
+    void browserAcceptStaysRowOriented() throws Exception {
+        mockMvc.perform(get("/insurance-records")
+                .header("Accept", "text/html,application/xhtml+xml,application/xml;q=0.9,*/*;q=0.8"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+            .andExpect(jsonPath("$.records[0].id").value(7));
+    }
+
+    @RestController
+    static class OtherMapController {
+        @GetMapping("/other")
+        Map<String, Object> other() {
+            return Map.of("records", List.of(Map.of("id", 1)));
+        }
+    }
+
+    private static InsuranceRecord record(Long id, String name, String phone, LocalDate expiry) {
+        InsuranceRecord record = new InsuranceRecord();
+        record.setId(id);
+        record.setUuid("uuid-" + id);
+        record.setCustomerName(name);
+        record.setPhoneNumber(phone);
+        record.setExpiryDate(expiry);
+        return record;
+    }
+}
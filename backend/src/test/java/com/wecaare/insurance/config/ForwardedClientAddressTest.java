@@ -0,0 +1,50 @@
+package com.wecaare.insurance.config;
+
+import com.wecaare.insurance.support.ProxiedTomcat;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// The login throttle keys on request.getRemoteAddr(): behind nginx it must be the client, not 127.0.0.1
+class ForwardedClientAddressTest {
+
+    private static ProxiedTomcat tomcat;
+
+    @BeforeAll
+    static void start() throws IOException {
+        tomcat = ProxiedTomcat.start(new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+                response.getWriter().write(request.getRemoteAddr());
+            }
+        });
+    }
+
+    @AfterAll
+    static void stop() {
+        tomcat.close();
+    }
+
+    @Test
+    void clientAddressComesFromTheLocalProxy() throws Exception {
+        assertThat(tomcat.get("203.0.113.7")).isEqualTo("203.0.113.7");
+    }
+
+    @Test
+    void directRequestKeepsTheConnectionAddress() throws Exception {
+        assertThat(tomcat.get(null)).isEqualTo("127.0.0.1");
+    }
+
+    // Only the local nginx is trusted: an earlier hop it did not add cannot be used to pick an address
+    @Test
+    void untrustedHopStopsTheWalk() throws Exception {
+        assertThat(tomcat.get("198.51.100.1, 10.0.0.9")).isEqualTo("10.0.0.9");
+    }
+}
@@ -0,0 +1,110 @@
+package com.wecaare.insurance.config;
+
+import com.wecaare.insurance.security.UserDetailsImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReadWriteRoutingDataSourceTest {
+
+    private final DataSource primary = dataSource();
+    private final DataSource replica = dataSource();
+    private final ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(primary, replica, 60_000);
+
+    @AfterEach
+    void clear() {
+        SecurityContextHolder.clearContext();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void readsGoToTheReplicaUntilTheLoginWrites() throws SQLException {
+        signIn("token-a");
+        assertThat(readTarget()).isSameAs(replica);
+        assertThat(routing.readsFromLaggingReplica()).isTrue();
+
+        commitWrite();
+
+        assertThat(readTarget()).isSameAs(primary);
+        assertThat(routing.readsFromLaggingReplica()).isFalse();
+    }
+
+    // Staff share one account: a write from one desk must not pin every other desk to the primary
+    @Test
+    void stickinessIsPerTokenNotPerAccount() throws SQLException {
+        signIn("token-a");
+        commitWrite();
+
+        signIn("token-b");
+        assertThat(readTarget()).isSameAs(replica);
+        assertThat(routing.readsFromLaggingReplica()).isTrue();
+    }
+
+    @Test
+    void rolledBackWriteIsNotSticky() throws SQLException {
+        signIn("token-a");
+        TransactionSynchronizationManager.initSynchronization();
+        routing.getConnection().createStatement();
+        TransactionSynchronizationManager.clearSynchronization();
+
+        assertThat(readTarget()).isSameAs(replica);
+    }
+
+    @Test
+    void sqliteReaderPoolNeverLags() {
+        ReadWriteRoutingDataSource sqlite = new ReadWriteRoutingDataSource(primary, replica);
+        signIn("token-a");
+        assertThat(sqlite.readsFromLaggingReplica()).isFalse();
+    }
+
+    private void signIn(String tokenId) {
+        UserDetailsImpl principal = new UserDetailsImpl(1L, "wecare", null, "admin", tokenId, null);
+        SecurityContextHolder.getContext().setAuthentication(
+            new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    // A write transaction touching the database and committing
+    private void commitWrite() throws SQLException {
+        TransactionSynchronizationManager.initSynchronization();
+        routing.getConnection().createStatement();
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    // Where a read-only transaction's first statement goes
+    private DataSource readTarget() throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        try {
+            Connection target = ((ConnectionProxy) routing.getConnection()).getTargetConnection();
+            return target == primary.getConnection() ? primary : replica;
+        } finally {
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        }
+    }
+
+    private static DataSource dataSource() {
+        DataSource dataSource = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        try {
+            when(dataSource.getConnection()).thenReturn(connection);
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+        return dataSource;
+    }
+}
@@ -0,0 +1,125 @@
+package com.wecaare.insurance.config;
+
+import com.wecaare.insurance.model.InsuranceRecord;
+import com.wecaare.insurance.repository.InsuranceRecordRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.flywaydb.core.Flyway;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Primary and replica are two SQLite files holding different versions of the same rows, standing in for
+// a replica that has not caught up. Reads served by the replica must not reach the shared caches.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class ReplicaCacheIsolationTest {
+
+    private static Path directory;
+
+    @Autowired
+    private InsuranceRecordRepository repository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @DynamicPropertySource
+    static void databases(DynamicPropertyRegistry registry) throws IOException, SQLException {
+        directory = Files.createTempDirectory("replica-cache");
+        String primary = database("primary.db", "NEW", "PRIYA");
+        String replica = database("replica.db", "OLD", null);
+        registry.add("spring.datasource.url", () -> primary);
+        registry.add("db.sqlite.mode", () -> "default");
+        registry.add("db.replica.url", () -> replica);
+        registry.add("backup.enabled", () -> "false");
+        registry.add("archive.enabled", () -> "false");
+        registry.add("audit.retention.enabled", () -> "false");
+    }
+
+    @AfterAll
+    static void cleanUp() throws IOException {
+        FileSystemUtils.deleteRecursively(directory);
+    }
+
+    @BeforeEach
+    void emptyCaches() {
+        entityManagerFactory.getCache().evictAll();
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        sessionFactory.getCache().evictQueryRegions();
+        sessionFactory.getStatistics().clear();
+    }
+
+    @Test
+    void replicaReadDoesNotCacheTheEntity() {
+        assertThat(readOnly(() -> repository.findById(1L).orElseThrow().getCustomerName()))
+            .isEqualTo("OLD");
+        assertThat(entityManagerFactory.getCache().contains(InsuranceRecord.class, 1L)).isFalse();
+
+        // The primary still sees, and caches, the current row
+        assertThat(readWrite(() -> repository.findById(1L).orElseThrow().getCustomerName()))
+            .isEqualTo("NEW");
+        assertThat(entityManagerFactory.getCache().contains(InsuranceRecord.class, 1L)).isTrue();
+    }
+
+    @Test
+    void replicaReadDoesNotCacheQueryResults() {
+        assertThat(readOnly(() -> repository.countByDeletedAtIsNull())).isEqualTo(1L);
+        assertThat(readWrite(() -> repository.countByDeletedAtIsNull())).isEqualTo(2L);
+    }
+
+    // Once the replica is bypassed, the same reads from the primary are cached as usual
+    @Test
+    void primaryReadsStillFillTheCaches() {
+        readOnly(() -> repository.countByDeletedAtIsNull());
+        readWrite(() -> repository.countByDeletedAtIsNull());
+        readWrite(() -> repository.countByDeletedAtIsNull());
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        assertThat(statistics.getQueryCachePutCount()).isEqualTo(1);
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+    }
+
+    private <T> T readOnly(Supplier<T> work) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        return template.execute(status -> work.get());
+    }
+
+    private <T> T readWrite(Supplier<T> work) {
+        return new TransactionTemplate(transactionManager).execute(status -> work.get());
+    }
+
+    // Migrated database with record 1 named firstName and, when secondName is given, a live record 2
+    private static String database(String file, String firstName, String secondName) throws SQLException {
+        String url = "jdbc:sqlite:" + directory.resolve(file) + "?date_string_format=yyyy-MM-dd";
+        Flyway.configure().dataSource(url, null, null).locations("classpath:db/migration/sqlite").load().migrate();
+        try (Connection connection = DriverManager.getConnection(url); Statement statement = connection.createStatement()) {
+            statement.executeUpdate("INSERT INTO insurance_records (id, uuid, customer_name) VALUES (1, 'r1', '" + firstName + "')");
+            if (secondName != null) {
+                statement.executeUpdate("INSERT INTO insurance_records (id, uuid, customer_name) VALUES (2, 'r2', '" + secondName + "')");
+            }
+        }
+        return url;
+    }
+}
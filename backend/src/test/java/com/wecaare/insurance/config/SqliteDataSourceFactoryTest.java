@@ -0,0 +1,56 @@
+package com.wecaare.insurance.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SqliteDataSourceFactoryTest {
+
+    private final Path directory = Files.createTempDirectory("sqlite-factory");
+
+    SqliteDataSourceFactoryTest() throws IOException {
+    }
+
+    @AfterEach
+    void cleanUp() throws IOException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        FileSystemUtils.deleteRecursively(directory);
+    }
+
+    // Imported rows keep their dates as 'yyyy-MM-dd' text, which only parses with the URL's date_string_format
+    @Test
+    void urlParametersReachBothPools() throws SQLException {
+        String url = "jdbc:sqlite:" + directory.resolve("insurance.db") + "?date_string_format=yyyy-MM-dd";
+        ReadWriteRoutingDataSource dataSource = SqliteDataSourceFactory.create(url, 1, 2048, 0, "normal", 1000, 1000);
+
+        try (Connection writer = dataSource.getConnection(); Statement statement = writer.createStatement()) {
+            statement.execute("CREATE TABLE policies (expiry_date DATE)");
+            statement.execute("INSERT INTO policies VALUES ('2025-04-07')");
+            assertThat(expiryDate(statement)).isEqualTo(Date.valueOf("2025-04-07"));
+        }
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        try (Connection reader = dataSource.getConnection(); Statement statement = reader.createStatement()) {
+            assertThat(expiryDate(statement)).isEqualTo(Date.valueOf("2025-04-07"));
+        }
+    }
+
+    private Date expiryDate(Statement statement) throws SQLException {
+        try (ResultSet rows = statement.executeQuery("SELECT expiry_date FROM policies")) {
+            rows.next();
+            return rows.getDate(1);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.wecaare.insurance.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wecaare.insurance.security.UserDetailsImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdmissionControlFilterTest {
+
+    private final AdmissionControlFilter filter = new AdmissionControlFilter(new ObjectMapper(), new SimpleMeterRegistry());
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(filter, "enabled", true);
+        ReflectionTestUtils.setField(filter, "exportMaxConcurrent", 1);
+        ReflectionTestUtils.setField(filter, "exportBurst", 2);
+        ReflectionTestUtils.setField(filter, "exportPerMinute", 1);
+        filter.init();
+    }
+
+    @AfterEach
+    void clear() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void rejectsALoginOverItsBurst() throws Exception {
+        signIn(1L, "token-a");
+        assertThat(export()).isEqualTo(200);
+        assertThat(export()).isEqualTo(200);
+        assertThat(export()).isEqualTo(429);
+    }
+
+    // Logging in again must not reset the allowance
+    @Test
+    void tokensOfOneUserShareABucket() throws Exception {
+        signIn(1L, "token-a");
+        export();
+        export();
+
+        signIn(1L, "token-b");
+        assertThat(export()).isEqualTo(429);
+    }
+
+    @Test
+    void otherUsersHaveTheirOwnBucket() throws Exception {
+        signIn(1L, "token-a");
+        export();
+        export();
+
+        signIn(2L, "token-c");
+        assertThat(export()).isEqualTo(200);
+    }
+
+    private void signIn(Long userId, String tokenId) {
+        UserDetailsImpl principal = new UserDetailsImpl(userId, "user" + userId, null, "admin", tokenId, null);
+        SecurityContextHolder.getContext().setAuthentication(
+            new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    private int export() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/export/excel");
+        request.setServletPath("/export/excel");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response.getStatus();
+    }
+}
@@ -0,0 +1,43 @@
+package com.wecaare.insurance.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTest {
+
+    @Test
+    void allowsTheBurstThenRejects() {
+        TokenBucket bucket = new TokenBucket(3, 1 / 60d);
+
+        assertThat(bucket.tryConsume()).isTrue();
+        assertThat(bucket.tryConsume()).isTrue();
+        assertThat(bucket.tryConsume()).isTrue();
+        assertThat(bucket.tryConsume()).isFalse();
+    }
+
+    @Test
+    void retryAfterIsTheTimeToTheNextToken() {
+        TokenBucket bucket = new TokenBucket(1, 1 / 60d);
+        assertThat(bucket.getRetryAfterSeconds()).isZero();
+
+        bucket.tryConsume();
+
+        assertThat(bucket.getRetryAfterSeconds()).isBetween(59L, 60L);
+    }
+
+    @Test
+    void refillsOverTimeUpToCapacity() throws InterruptedException {
+        TokenBucket bucket = new TokenBucket(2, 1000);
+        bucket.tryConsume();
+        bucket.tryConsume();
+        assertThat(bucket.tryConsume()).isFalse();
+
+        Thread.sleep(50);
+
+        // 50 tokens' worth of time has passed, but the bucket holds only 2
+        assertThat(bucket.tryConsume()).isTrue();
+        assertThat(bucket.tryConsume()).isTrue();
+        assertThat(bucket.tryConsume()).isFalse();
+    }
+}
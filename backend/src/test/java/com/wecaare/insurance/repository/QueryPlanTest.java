@@ -0,0 +1,246 @@
+package com.wecaare.insurance.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Calls every query method of every repository, captures the SQL Hibernate actually sends together
+// with its bound parameters, and EXPLAINs each statement: none may read a whole table.
+// SqliteQueryPlanTest runs it on the default database, PostgresQueryPlanTest when a PostgreSQL is given.
+@Import(QueryPlanTest.StatementCapture.class)
+abstract class QueryPlanTest {
+
+    // Tables that hold a handful of rows, where a scan is the cheapest plan anyway
+    private static final Set<String> SMALL_TABLES = Set.of("users", "job_checkpoints", "user_token_revocations");
+
+    private static final Map<String, Object> SAMPLE_VALUES = Map.of(
+        "search", "kl",
+        "startDate", "2025-01-01",
+        "endDate", "2025-01-31",
+        "year", 2025,
+        "uuid", "00000000-0000-0000-0000-000000000000",
+        "normalizedPhone", "9847012345",
+        "username", "admin",
+        "id", 1L
+    );
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private StatementCapture capture;
+
+    @Test
+    void noRepositoryQueryScansAWholeTable() throws Exception {
+        List<String> problems = new ArrayList<>();
+        int explained = 0;
+
+        for (Object repository : applicationContext.getBeansOfType(org.springframework.data.repository.Repository.class).values()) {
+            for (Method method : queryMethods(repository)) {
+                for (QueryInfo query : run(repository, method)) {
+                    String sql = query.getQuery().trim();
+                    if (!isRead(sql)) {
+                        continue;
+                    }
+                    explained++;
+                    for (String step : explain(query)) {
+                        if (isFullScan(step, sql)) {
+                            problems.add(method.getDeclaringClass().getSimpleName() + "." + method.getName()
+                                + ": " + step.trim() + " <- " + sql);
+                        }
+                    }
+                }
+            }
+        }
+
+        assertThat(explained).as("statements explained").isGreaterThan(10);
+        assertThat(problems).isEmpty();
+    }
+
+    protected abstract List<String> planOf(Connection connection, PreparedStatement explain) throws Exception;
+
+    protected abstract String explainPrefix();
+
+    // Whether the plan step reads every row of a table other than the small ones
+    protected abstract boolean isFullScan(String step, String sql);
+
+    // Plans name a table by its alias when the statement has one ("from users u1_0")
+    protected static boolean isSmallTable(String tableOrAlias, String sql) {
+        Matcher aliased = Pattern.compile("(?i)\\b(?:from|join|update)\\s+(\\w+)\\s+(?:as\\s+)?" + Pattern.quote(tableOrAlias) + "\\b")
+            .matcher(sql);
+        String table = aliased.find() ? aliased.group(1) : tableOrAlias;
+        return SMALL_TABLES.contains(table.toLowerCase());
+    }
+
+    // Methods declared in this application's repository interfaces (including custom fragments),
+    // plus findById; inherited findAll-style methods read everything by definition
+    private static List<Method> queryMethods(Object repository) throws NoSuchMethodException {
+        List<Method> methods = new ArrayList<>();
+        for (Class<?> type : AopProxyUtils.proxiedUserInterfaces(repository)) {
+            if (!type.getPackageName().equals(QueryPlanTest.class.getPackageName())) {
+                continue;
+            }
+            for (Method method : type.getMethods()) {
+                if (method.getDeclaringClass().getPackageName().equals(type.getPackageName())) {
+                    methods.add(method);
+                }
+            }
+            methods.add(type.getMethod("findById", Object.class));
+        }
+        methods.sort(Comparator.comparing(Method::getName));
+        return methods;
+    }
+
+    // Statements the method sends, in a transaction that is rolled back. Caches are emptied first so
+    // that a cached result cannot hide the query.
+    private List<QueryInfo> run(Object repository, Method method) {
+        entityManagerFactory.getCache().evictAll();
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+        List<QueryInfo> statements = new ArrayList<>();
+        capture.captured.set(statements);
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                status.setRollbackOnly();
+                try {
+                    method.invoke(repository, Arrays.stream(method.getParameters()).map(QueryPlanTest::sampleValue).toArray());
+                } catch (ReflectiveOperationException e) {
+                    throw new IllegalStateException(method + " failed", e);
+                }
+            });
+        } finally {
+            capture.captured.remove();
+        }
+        assertThat(statements).as(method + " sent no SQL").isNotEmpty();
+        return statements;
+    }
+
+    private static Object sampleValue(Parameter parameter) {
+        Object value = SAMPLE_VALUES.get(parameter.getName());
+        if (value != null) {
+            return value;
+        }
+        Class<?> type = parameter.getType();
+        if (type == int.class || type == Integer.class) {
+            return 1;
+        }
+        if (type == long.class || type == Long.class || type == Object.class) {
+            return 1L;
+        }
+        if (type == LocalDateTime.class) {
+            return LocalDateTime.now();
+        }
+        if (type == LocalDate.class) {
+            return LocalDate.now();
+        }
+        return "1";
+    }
+
+    private static boolean isRead(String sql) {
+        String lower = sql.toLowerCase();
+        return lower.startsWith("select") || lower.startsWith("with") || lower.startsWith("update") || lower.startsWith("delete");
+    }
+
+    // Plan of the statement with the parameters it was executed with, on an unproxied connection
+    private List<String> explain(QueryInfo query) throws Exception {
+        try (Connection connection = ((ProxyDataSource) dataSource).getDataSource().getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement explain = connection.prepareStatement(explainPrefix() + query.getQuery())) {
+                if (!query.getParametersList().isEmpty()) {
+                    for (ParameterSetOperation operation : query.getParametersList().get(0)) {
+                        operation.getMethod().invoke(explain, operation.getArgs());
+                    }
+                }
+                return planOf(connection, explain);
+            } finally {
+                connection.rollback();
+            }
+        }
+    }
+
+    protected static List<String> column(ResultSet rs, String column) throws Exception {
+        List<String> values = new ArrayList<>();
+        while (rs.next()) {
+            values.add(column == null ? rs.getString(1) : rs.getString(column));
+        }
+        return values;
+    }
+
+    protected static void execute(Connection connection, String sql) throws Exception {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    // Records the statements sent on the calling thread while a capture is open. The application
+    // DataSource is wrapped in a datasource-proxy for this, or joined when it already is one.
+    static class StatementCapture implements BeanPostProcessor, QueryExecutionListener {
+
+        private final ThreadLocal<List<QueryInfo>> captured = new ThreadLocal<>();
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!"dataSource".equals(beanName) || !(bean instanceof DataSource)) {
+                return bean;
+            }
+            if (bean instanceof ProxyDataSource) {
+                ((ProxyDataSource) bean).getProxyConfig().getQueryListener().addListener(this);
+                return bean;
+            }
+            return ProxyDataSourceBuilder.create((DataSource) bean).listener(this).build();
+        }
+
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            List<QueryInfo> statements = captured.get();
+            if (statements != null) {
+                statements.addAll(queryInfoList);
+            }
+        }
+    }
+}
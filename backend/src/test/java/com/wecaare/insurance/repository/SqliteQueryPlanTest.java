@@ -0,0 +1,57 @@
+package com.wecaare.insurance.repository;
+
+import org.junit.jupiter.api.AfterAll;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Against a freshly migrated SQLite file in the default (tuned) mode
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class SqliteQueryPlanTest extends QueryPlanTest {
+
+    // "SCAN insurance_records" (or "SCAN TABLE ..." on older SQLite) without "USING ... INDEX" reads every row
+    private static final Pattern TABLE_SCAN = Pattern.compile("^SCAN (?:TABLE )?(\\w+)(?: AS \\w+)?$");
+
+    private static Path directory;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) throws IOException {
+        directory = Files.createTempDirectory("query-plan");
+        registry.add("spring.datasource.url",
+            () -> "jdbc:sqlite:" + directory.resolve("insurance.db") + "?date_string_format=yyyy-MM-dd");
+        registry.add("backup.enabled", () -> "false");
+        registry.add("archive.enabled", () -> "false");
+        registry.add("audit.retention.enabled", () -> "false");
+    }
+
+    @AfterAll
+    static void cleanUp() throws IOException {
+        FileSystemUtils.deleteRecursively(directory);
+    }
+
+    @Override
+    protected String explainPrefix() {
+        return "EXPLAIN QUERY PLAN ";
+    }
+
+    @Override
+    protected List<String> planOf(Connection connection, PreparedStatement explain) throws Exception {
+        return column(explain.executeQuery(), "detail");
+    }
+
+    @Override
+    protected boolean isFullScan(String step, String sql) {
+        Matcher scan = TABLE_SCAN.matcher(step.trim());
+        return scan.matches() && !isSmallTable(scan.group(1), sql);
+    }
+}
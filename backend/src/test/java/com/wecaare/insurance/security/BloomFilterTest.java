@@ -0,0 +1,50 @@
+package com.wecaare.insurance.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BloomFilterTest {
+
+    @Test
+    void neverMissesAnAddedHash() {
+        BloomFilter filter = new BloomFilter(1000, 0.01);
+        IntStream.range(0, 1000).forEach(i -> filter.put(sha256("token-" + i)));
+
+        assertThat(IntStream.range(0, 1000)).allMatch(i -> filter.mightContain(sha256("token-" + i)));
+    }
+
+    @Test
+    void falsePositivesStayNearTheConfiguredRate() {
+        BloomFilter filter = new BloomFilter(1000, 0.01);
+        IntStream.range(0, 1000).forEach(i -> filter.put(sha256("token-" + i)));
+
+        long falsePositives = IntStream.range(0, 10_000)
+            .filter(i -> filter.mightContain(sha256("other-" + i)))
+            .count();
+
+        assertThat(falsePositives).isLessThan(300);
+    }
+
+    @Test
+    void concurrentPutsAreAllKept() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        IntStream.range(0, 10_000).parallel().forEach(i -> filter.put(sha256("token-" + i)));
+
+        assertThat(IntStream.range(0, 10_000)).allMatch(i -> filter.mightContain(sha256("token-" + i)));
+    }
+
+    private static String sha256(String value) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.wecaare.insurance.security;
+
+import com.wecaare.insurance.model.User;
+import com.wecaare.insurance.repository.UserRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Through the real filter chain, against a freshly migrated SQLite file with the default users
+@SpringBootTest
+@AutoConfigureMockMvc
+class TokenRevocationTest {
+
+    private static Path directory;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtTokenProvider tokenProvider;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) throws IOException {
+        directory = Files.createTempDirectory("token-revocation");
+        registry.add("spring.datasource.url",
+            () -> "jdbc:sqlite:" + directory.resolve("insurance.db") + "?date_string_format=yyyy-MM-dd");
+        registry.add("backup.enabled", () -> "false");
+        registry.add("archive.enabled", () -> "false");
+        registry.add("audit.retention.enabled", () -> "false");
+    }
+
+    @AfterAll
+    static void cleanUp() throws IOException {
+        FileSystemUtils.deleteRecursively(directory);
+    }
+
+    @Test
+    void tokenRevokedByIdIsRejected() throws Exception {
+        String revoked = tokenFor("wecare");
+        String other = tokenFor("wecare");
+        assertAccepted(revoked);
+
+        mockMvc.perform(post("/admin/tokens/{tokenId}/revoke", tokenProvider.parseClaims(revoked).getId())
+                .header("Authorization", "Bearer " + tokenFor("smitha")))
+            .andExpect(status().isOk());
+
+        assertRejected(revoked);
+        assertAccepted(other);
+    }
+
+    // A user cutoff also rejects tokens issued later in the same second (iat has second precision),
+    // so this test revokes an account of its own instead of one the other tests sign in as
+    @Test
+    void revokingAUserRejectsEveryTokenTheyHold() throws Exception {
+        User revoked = userRepository.save(new User(null, "revoked-staff", "unused", "staff", null, null));
+        String first = tokenFor(revoked.getUsername());
+        String second = tokenFor(revoked.getUsername());
+        String admin = tokenFor("smitha");
+        assertAccepted(first);
+
+        mockMvc.perform(post("/admin/users/{id}/revoke-tokens", revoked.getId())
+                .header("Authorization", "Bearer " + admin))
+            .andExpect(status().isOk());
+
+        assertRejected(first);
+        assertRejected(second);
+        assertAccepted(admin);
+    }
+
+    @Test
+    void staffCannotRevokeTokens() throws Exception {
+        String staff = tokenFor("wecare");
+        mockMvc.perform(post("/admin/users/{id}/revoke-tokens", user("smitha").getId())
+                .header("Authorization", "Bearer " + staff))
+            .andExpect(status().isForbidden());
+        assertAccepted(tokenFor("smitha"));
+    }
+
+    private String tokenFor(String username) {
+        UserDetailsImpl principal = UserDetailsImpl.build(user(username));
+        return tokenProvider.generateToken(new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    private User user(String username) {
+        return userRepository.findByUsername(username).orElseThrow();
+    }
+
+    private void assertAccepted(String token) throws Exception {
+        mockMvc.perform(get("/insurance-records").header("Authorization", "Bearer " + token))
+            .andExpect(status().isOk());
+    }
+
+    // No authentication entry point is configured, so an unauthenticated request gets 403
+    private void assertRejected(String token) throws Exception {
+        mockMvc.perform(get("/insurance-records").header("Authorization", "Bearer " + token))
+            .andExpect(status().isForbidden());
+    }
+}
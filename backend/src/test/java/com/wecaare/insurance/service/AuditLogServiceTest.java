@@ -0,0 +1,66 @@
+package com.wecaare.insurance.service;
+
+import com.wecaare.insurance.model.AuditLog;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AuditLogServiceTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final AuditLogService service = new AuditLogService(jdbcTemplate, mock(TransactionTemplate.class));
+
+    // PostgreSQL returns microseconds; the next page must start exactly after the last row, not at its millisecond
+    @Test
+    @SuppressWarnings("unchecked")
+    void cursorKeepsTheFullTimestamp() {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 3, 1, 10, 15, 30, 123_456_000);
+        AuditLog last = new AuditLog();
+        last.setId(42L);
+        last.setCreatedAt(createdAt);
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(Object[].class))).thenReturn(List.of(last));
+
+        Map<String, Object> page = service.findEntries(null, null, null, null, null, null, 1);
+        service.findEntries(null, null, null, null, null, (String) page.get("nextCursor"), 1);
+
+        ArgumentCaptor<Object[]> args = ArgumentCaptor.forClass(Object[].class);
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate, times(2)).query(sql.capture(), any(RowMapper.class), args.capture());
+        assertThat(sql.getValue()).contains("(created_at, id) < (?, ?)");
+        assertThat(args.getValue()).containsExactly(Timestamp.valueOf(createdAt), 42L, 1);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void millisecondCursorsStillWork() {
+        service.findEntries(null, null, null, null, null, "1740824130123:42", 10);
+
+        ArgumentCaptor<Object[]> args = ArgumentCaptor.forClass(Object[].class);
+        verify(jdbcTemplate).query(anyString(), any(RowMapper.class), args.capture());
+        assertThat(args.getValue()).containsExactly(new Timestamp(1740824130123L), 42L, 10);
+    }
+
+    @Test
+    void rejectsMalformedCursors() {
+        assertThatThrownBy(() -> service.findEntries(null, null, null, null, null, "1740824130123:42:2000000000", 10))
+            .hasMessageContaining("Invalid cursor");
+        assertThatThrownBy(() -> service.findEntries(null, null, null, null, null, "yesterday", 10))
+            .hasMessageContaining("Invalid cursor");
+    }
+}
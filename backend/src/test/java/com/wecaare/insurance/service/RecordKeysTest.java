@@ -0,0 +1,114 @@
+package com.wecaare.insurance.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class RecordKeysTest {
+
+    @Test
+    void platesTypedDifferentlyShareAKey() {
+        assertThat(RecordKeys.plate("KL-4-AB-1786")).isEqualTo("KL04AB1786");
+        assertThat(RecordKeys.plate("kl 04 ab 1786")).isEqualTo("KL04AB1786");
+        assertThat(RecordKeys.plate("KL04AB1786")).isEqualTo("KL04AB1786");
+        assertThat(RecordKeys.plate("KL-7-C-12")).isEqualTo("KL07C0012");
+    }
+
+    // Without series letters the district is only delimited by the separators it was typed with
+    @Test
+    void oneDigitDistrictWithoutSeries() {
+        assertThat(RecordKeys.plate("KL 7 1234")).isEqualTo("KL071234");
+        assertThat(RecordKeys.plate("KL-07-1234")).isEqualTo("KL071234");
+        assertThat(RecordKeys.plate("KL071234")).isEqualTo("KL071234");
+        assertThat(RecordKeys.plate("(KL 4 AB 1786)")).isEqualTo("KL04AB1786");
+    }
+
+    @Test
+    void unusualPlatesAreOnlyCleanedUp() {
+        assertThat(RecordKeys.plate("temp/reg 123")).isEqualTo("TEMPREG123");
+        assertThat(RecordKeys.plate(" - ")).isNull();
+        assertThat(RecordKeys.plate(null)).isNull();
+    }
+
+    @Test
+    void phonesReduceToTheSubscriberNumber() {
+        assertThat(RecordKeys.phone("+91 98470 12345")).isEqualTo("9847012345");
+        assertThat(RecordKeys.phone("098470-12345")).isEqualTo("9847012345");
+        assertThat(RecordKeys.phone("9847012345")).isEqualTo("9847012345");
+        assertThat(RecordKeys.phone("98470 1234")).isNull();
+        assertThat(RecordKeys.phone("+44 20 7946 0958")).isNull();
+        assertThat(RecordKeys.phone(null)).isNull();
+    }
+
+    // Rows backfilled by V6 and rows written since must agree, or the customer view misses old policies.
+    // The SQLite backfill only strips the separators numbers are typed with, so inputs stick to those.
+    @Test
+    void phoneMatchesTheSqliteBackfill() throws Exception {
+        List<String> numbers = Arrays.asList("9847012345", "+91 98470 12345", "+91-98470-12345", "(0484) 2345678",
+            "098470.12345", "919847012345", "91984701234", "12345", "+91 98470 1234", "", null);
+
+        try (Connection connection = DriverManager.getConnection("jdbc:sqlite::memory:")) {
+            try (Statement statement = connection.createStatement()) {
+                statement.executeUpdate("CREATE TABLE insurance_records (id INTEGER PRIMARY KEY, phone_number TEXT, deleted_at TEXT)");
+                statement.executeUpdate("CREATE TABLE insurance_records_archive (id INTEGER PRIMARY KEY, phone_number TEXT)");
+            }
+            try (PreparedStatement insert = connection.prepareStatement("INSERT INTO insurance_records (id, phone_number) VALUES (?, ?)")) {
+                for (int i = 0; i < numbers.size(); i++) {
+                    insert.setInt(1, i);
+                    insert.setString(2, numbers.get(i));
+                    insert.executeUpdate();
+                }
+            }
+            String migration = new ClassPathResource("db/migration/sqlite/V6__customer_phone_index.sql")
+                .getContentAsString(StandardCharsets.UTF_8)
+                .replaceAll("(?m)^--.*$", "");
+            try (Statement statement = connection.createStatement()) {
+                for (String sql : migration.split(";")) {
+                    if (!sql.isBlank()) {
+                        statement.executeUpdate(sql);
+                    }
+                }
+            }
+            try (Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery("SELECT id, normalized_phone FROM insurance_records ORDER BY id")) {
+                while (rs.next()) {
+                    String number = numbers.get(rs.getInt("id"));
+                    assertThat(rs.getString("normalized_phone")).as(number).isEqualTo(RecordKeys.phone(number));
+                }
+            }
+        }
+    }
+
+    @Test
+    void namesDropTitlesAndPunctuation() {
+        assertThat(RecordKeys.name("Mr. Sunil  k.")).isEqualTo("SUNIL K");
+        assertThat(RecordKeys.name("Dr.")).isNull();
+        assertThat(RecordKeys.nameKey("Ali Mohammed")).isEqualTo(RecordKeys.nameKey("MUHAMMAD ALI"));
+    }
+
+    @Test
+    void similarityIsJaroWinkler() {
+        assertThat(RecordKeys.similarity("MARTHA", "MARHTA")).isCloseTo(0.961, within(0.001));
+        assertThat(RecordKeys.similarity("DIXON", "DICKSONX")).isCloseTo(0.813, within(0.001));
+        assertThat(RecordKeys.similarity("KL04AB1786", "KL04AB1786")).isEqualTo(1.0);
+        assertThat(RecordKeys.similarity("ABC", "XYZ")).isZero();
+        assertThat(RecordKeys.similarity(null, "ABC")).isZero();
+    }
+
+    @Test
+    void similarityIsSymmetric() {
+        assertThat(RecordKeys.similarity("SUNIL KUMAR", "SUNIL KUMAR K"))
+            .isEqualTo(RecordKeys.similarity("SUNIL KUMAR K", "SUNIL KUMAR"));
+    }
+}
@@ -0,0 +1,133 @@
+package com.wecaare.insurance.service;
+
+import com.wecaare.insurance.dto.RenewalReminder;
+import com.wecaare.insurance.model.JobCheckpoint;
+import com.wecaare.insurance.notification.Notifier;
+import com.wecaare.insurance.repository.JobCheckpointRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class RenewalReminderServiceTest {
+
+    private static Path directory;
+
+    @Autowired
+    private RenewalReminderService service;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private JobCheckpointRepository checkpointRepository;
+
+    @MockBean
+    private Notifier notifier;
+
+    private final List<Long> sent = new CopyOnWriteArrayList<>();
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) throws IOException {
+        directory = Files.createTempDirectory("renewal-reminders");
+        registry.add("spring.datasource.url",
+            () -> "jdbc:sqlite:" + directory.resolve("insurance.db") + "?date_string_format=yyyy-MM-dd");
+        registry.add("renewal.reminder.chunk-size", () -> "2");
+        registry.add("backup.enabled", () -> "false");
+        registry.add("archive.enabled", () -> "false");
+        registry.add("audit.retention.enabled", () -> "false");
+    }
+
+    @AfterAll
+    static void cleanUp() throws IOException {
+        FileSystemUtils.deleteRecursively(directory);
+    }
+
+    @BeforeEach
+    void setUp() throws Exception {
+        jdbcTemplate.update("DELETE FROM insurance_records");
+        checkpointRepository.deleteAll();
+        LocalDate today = LocalDate.now();
+        // Ids deliberately out of expiry order, with ties on the date and one value carrying a time
+        record(1, today.plusDays(3).toString(), false, false);
+        record(2, today.plusDays(1).toString(), false, false);
+        record(3, today.plusDays(1).toString(), false, false);
+        record(4, today.plusDays(2) + " 00:00:00", false, false);
+        record(5, today.plusDays(1).toString(), false, false);
+        record(6, today.plusDays(1).toString(), true, false);
+        record(7, today.plusDays(1).toString(), false, true);
+        record(8, today.plusDays(90).toString(), false, false);
+        doAnswer(invocation -> sent.add(((RenewalReminder) invocation.getArgument(0)).getRecordId()))
+            .when(notifier).send(any());
+    }
+
+    @Test
+    @Timeout(30)
+    void sendsEachPendingPolicyInTheWindowOnceInExpiryOrder() {
+        Map<String, Object> result = service.runReminders();
+
+        assertThat(sent).containsExactlyInAnyOrder(2L, 3L, 5L, 4L, 1L);
+        assertThat(result.get("sent")).isEqualTo(5L);
+        JobCheckpoint checkpoint = checkpointRepository.findById("renewal-reminder").orElseThrow();
+        assertThat(checkpoint.getStatus()).isEqualTo(JobCheckpoint.STATUS_COMPLETED);
+        assertThat(checkpoint.getLastRecordId()).isEqualTo(1L);
+        assertThat(checkpoint.getLastSortKey()).isEqualTo(LocalDate.now().plusDays(3).toString());
+    }
+
+    // A failed send leaves the row pending; the next chunk must still move past it
+    @Test
+    @Timeout(30)
+    void failedSendsDoNotStallTheScan() throws Exception {
+        doAnswer(invocation -> {
+            RenewalReminder reminder = invocation.getArgument(0);
+            sent.add(reminder.getRecordId());
+            if (reminder.getRecordId() == 4L) {
+                throw new IllegalStateException("gateway down");
+            }
+            return null;
+        }).when(notifier).send(any());
+
+        Map<String, Object> result = service.runReminders();
+
+        assertThat(sent).containsExactlyInAnyOrder(2L, 3L, 5L, 4L, 1L);
+        assertThat(result.get("sent")).isEqualTo(4L);
+        assertThat(result.get("failed")).isEqualTo(1L);
+    }
+
+    @Test
+    @Timeout(30)
+    void resumesAfterTheLastCommittedRow() {
+        checkpointRepository.save(new JobCheckpoint("renewal-reminder", LocalDate.now().toString(), 3L,
+            LocalDate.now().plusDays(1).toString(), JobCheckpoint.STATUS_FAILED, 2L, 0L, null));
+
+        Map<String, Object> result = service.runReminders();
+
+        assertThat(result.get("resumed")).isEqualTo(true);
+        assertThat(sent).containsExactlyInAnyOrder(5L, 4L, 1L);
+    }
+
+    private void record(long id, String expiryDate, boolean notified, boolean deleted) {
+        jdbcTemplate.update("INSERT INTO insurance_records (id, uuid, customer_name, expiry_date, renewal_notified, deleted_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?)", id, "r" + id, "CUSTOMER " + id, expiryDate, notified, deleted ? "2025-01-01 00:00:00" : null);
+    }
+}
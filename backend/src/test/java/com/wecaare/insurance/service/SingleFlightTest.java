@@ -0,0 +1,142 @@
+package com.wecaare.insurance.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+@Timeout(10)
+class SingleFlightTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SingleFlight singleFlight = new SingleFlight(mock(PlatformTransactionManager.class), meterRegistry);
+
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final AtomicInteger executions = new AtomicInteger();
+
+    @AfterEach
+    void clear() {
+        release.countDown();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+
+    @Test
+    void concurrentIdenticalReadsShareOneQuery() throws Exception {
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> singleFlight.read("count", this::slowQuery, 1));
+        started.await();
+        CompletableFuture<String> second = CompletableFuture.supplyAsync(() -> singleFlight.read("count", this::slowQuery, 1));
+        awaitCount("joined", 1);
+        release.countDown();
+
+        assertThat(first.get()).isEqualTo("result-1");
+        assertThat(second.get()).isSameAs(first.get());
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    void differentArgumentsDoNotJoin() throws Exception {
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> singleFlight.read("count", this::slowQuery, 1));
+        started.await();
+
+        assertThat(singleFlight.read("count", this::query, 2)).isEqualTo("result-2");
+        release.countDown();
+        first.get();
+    }
+
+    // A reader that starts after a committed write must see that write, not the result of a query already running
+    @Test
+    void callerAfterACommittedWriteNeverJoinsAnEarlierFlight() throws Exception {
+        CompletableFuture<String> before = CompletableFuture.supplyAsync(() -> singleFlight.read("count", this::slowQuery, 1));
+        started.await();
+
+        commitWrite();
+
+        assertThat(singleFlight.read("count", this::query, 1)).isEqualTo("result-2");
+        release.countDown();
+        assertThat(before.get()).isEqualTo("result-1");
+        assertThat(executions).hasValue(2);
+    }
+
+    @Test
+    void versionMovesOnlyWhenTheWriteCommits() {
+        TransactionSynchronizationManager.initSynchronization();
+        singleFlight.dataChanged();
+        assertThat(singleFlight.getDataVersion()).isZero();
+        TransactionSynchronizationManager.clearSynchronization();
+        assertThat(singleFlight.getDataVersion()).as("rolled back").isZero();
+
+        commitWrite();
+        assertThat(singleFlight.getDataVersion()).isEqualTo(1);
+    }
+
+    @Test
+    void writeTransactionsReadDirectly() {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+
+        assertThat(singleFlight.read("count", this::query, 1)).isEqualTo("result-1");
+        assertThat(meterRegistry.find("singleflight.calls").counters()).isEmpty();
+    }
+
+    @Test
+    void failureReachesJoinedCallersAndFreesTheKey() throws Exception {
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> singleFlight.read("count", () -> {
+            slowQuery();
+            throw new IllegalStateException("database down");
+        }, 1));
+        started.await();
+        CompletableFuture<String> second = CompletableFuture.supplyAsync(() -> singleFlight.read("count", this::query, 1));
+        awaitCount("joined", 1);
+        release.countDown();
+
+        assertThatThrownBy(first::join).hasCauseInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(second::join).hasRootCauseMessage("database down");
+        assertThat(singleFlight.read("count", this::query, 1)).isEqualTo("result-2");
+    }
+
+    private String query() {
+        return "result-" + executions.incrementAndGet();
+    }
+
+    private String slowQuery() {
+        String result = query();
+        started.countDown();
+        try {
+            release.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return result;
+    }
+
+    private void commitWrite() {
+        TransactionSynchronizationManager.initSynchronization();
+        singleFlight.dataChanged();
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    private void awaitCount(String result, double count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.find("singleflight.calls").tag("result", result).counters().stream()
+                .mapToDouble(c -> c.count()).sum() < count) {
+            assertThat(System.nanoTime()).as("waiting for " + result).isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+}
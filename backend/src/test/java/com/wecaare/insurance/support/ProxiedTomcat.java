@@ -0,0 +1,59 @@
+package com.wecaare.insurance.support;
+
+import jakarta.servlet.http.HttpServlet;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.boot.autoconfigure.web.embedded.TomcatWebServerFactoryCustomizer;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.env.PropertiesPropertySourceLoader;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServer;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+// Embedded Tomcat set up from the server.* entries of application.properties, the way Spring Boot
+// configures the real one, serving a single servlet. Requests come from 127.0.0.1, like nginx's do.
+public final class ProxiedTomcat implements AutoCloseable {
+
+    private final WebServer server;
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    private ProxiedTomcat(WebServer server) {
+        this.server = server;
+    }
+
+    public static ProxiedTomcat start(HttpServlet servlet) throws IOException {
+        StandardEnvironment environment = new StandardEnvironment();
+        for (PropertySource<?> source : new PropertiesPropertySourceLoader()
+                .load("application", new ClassPathResource("application.properties"))) {
+            environment.getPropertySources().addLast(source);
+        }
+        ServerProperties properties = Binder.get(environment).bind("server", ServerProperties.class).get();
+
+        TomcatServletWebServerFactory factory = new TomcatServletWebServerFactory(0);
+        new TomcatWebServerFactoryCustomizer(environment, properties).customize(factory);
+        WebServer server = factory.getWebServer(context -> context.addServlet("probe", servlet).addMapping("/*"));
+        server.start();
+        return new ProxiedTomcat(server);
+    }
+
+    // Body of a GET sent with the given X-Forwarded-For header (none when null)
+    public String get(String forwardedFor) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + server.getPort() + "/"));
+        if (forwardedFor != null) {
+            request.header("X-Forwarded-For", forwardedFor);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString()).body();
+    }
+
+    @Override
+    public void close() {
+        server.stop();
+    }
+}
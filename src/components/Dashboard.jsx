@@ -1,6 +1,6 @@
 import React, { useState, useEffect } from 'react';
 import { BarChart, Bar, XAxis, YAxis, CartesianGrid, Tooltip, ResponsiveContainer } from 'recharts';
-import { analyticsAPI } from '../services/api';
+import { dashboardAPI } from '../services/api';
 import './Dashboard.scss';
 
 const Dashboard = ({ isAdminMode = false }) => {
@@ -8,6 +8,7 @@ const Dashboard = ({ isAdminMode = false }) => {
   const [performanceData, setPerformanceData] = useState([]);
   const [totalPolicies, setTotalPolicies] = useState(0);
   const [loading, setLoading] = useState(true);
+  const [loadError, setLoadError] = useState(null);
   const [selectedYear, setSelectedYear] = useState(new Date().getFullYear());
   const [availableYears, setAvailableYears] = useState([]);
 
@@ -23,18 +24,28 @@ const Dashboard = ({ isAdminMode = false }) => {
     const fetchData = async () => {
       try {
         setLoading(true);
-        if (isAdminMode) {
-          const data = await analyticsAPI.getMonthlyPerformance(selectedYear);
-          setPerformanceData(data.data || []);
-          setTotalPolicies(data.totalPolicies || 0); // Use total from API response
+        setLoadError(null);
+        const widget = isAdminMode ? 'monthlyPerformance' : 'policiesCount';
+        const data = await dashboardAPI.getDashboard(selectedYear, [widget]);
+        // A widget that failed or timed out is listed under errors instead of in the response
+        const widgetError = data.errors?.[widget];
+        if (widgetError) {
+          console.error(`Dashboard widget ${widget} failed:`, widgetError);
+          setPerformanceData([]);
+          setTotalPolicies(0);
+          setLoadError(widgetError);
+        } else if (isAdminMode) {
+          const performance = data.monthlyPerformance || {};
+          setPerformanceData(performance.data || []);
+          setTotalPolicies(performance.totalPolicies || 0); // Use total from API response
         } else {
-          const data = await analyticsAPI.getPoliciesCount();
-          setTotalPolicies(data.totalPolicies || 0);
+          setTotalPolicies(data.policiesCount?.totalPolicies || 0);
         }
       } catch (error) {
         console.error('Failed to fetch analytics:', error);
         setPerformanceData([]);
         setTotalPolicies(0);
+        setLoadError(error.message || 'Failed to load');
       } finally {
         setLoading(false);
       }
@@ -85,17 +96,17 @@ const Dashboard = ({ isAdminMode = false }) => {
         <div className={`stats-quick ${isAdminMode ? 'admin-view' : 'staff-view'}`}>
           <div className="stat-box">
             <span className="stat-label">Total Policies</span>
-            <span className="stat-value">{calculatedTotalPolicies}</span>
+            <span className="stat-value">{loadError ? '—' : calculatedTotalPolicies}</span>
           </div>
           {isAdminMode && (
             <>
               <div className="stat-box">
                 <span className="stat-label">Total Revenue</span>
-                <span className="stat-value">{formatCurrency(totalRevenue)}</span>
+                <span className="stat-value">{loadError ? '—' : formatCurrency(totalRevenue)}</span>
               </div>
               <div className="stat-box">
                 <span className="stat-label">Avg/Month</span>
-                <span className="stat-value">{formatCurrency(avgPerMonth)}</span>
+                <span className="stat-value">{loadError ? '—' : formatCurrency(avgPerMonth)}</span>
               </div>
             </>
           )}
@@ -120,6 +131,8 @@ const Dashboard = ({ isAdminMode = false }) => {
           </div>
           {loading ? (
             <div className="chart-loading">Loading data...</div>
+          ) : loadError ? (
+            <div className="chart-error">Could not load data for {selectedYear}: {loadError}</div>
           ) : performanceData.length > 0 ? (
             <ResponsiveContainer width="100%" height={250}>
               <BarChart data={performanceData} margin={{ top: 10, right: 10, left: -10, bottom: 0 }}>
@@ -204,6 +204,18 @@ export const analyticsAPI = {
   },
 };
 
+// Dashboard API: all dashboard widgets in one request
+export const dashboardAPI = {
+  // widgets: optional list, e.g. ['policiesCount', 'monthlyPerformance']
+  getDashboard: async (year = new Date().getFullYear(), widgets = []) => {
+    const params = new URLSearchParams({ year });
+    if (widgets.length > 0) {
+      params.set('widgets', widgets.join(','));
+    }
+    return await apiCall(`/dashboard?${params}`, { method: 'GET' });
+  },
+};
+
 // Export API (Admin only)
 export const exportAPI = {
   // Export all records to Excel